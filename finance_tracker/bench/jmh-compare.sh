@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Side-by-side JMH scores from two results files, e.g. before and after a change.
+#
+# Usage: ./bench/jmh-compare.sh <baseline.json> <candidate.json>
+#
+# Produce each file with ./gradlew jmh and copy build/reports/jmh/results.json away between commits.
+# Scores are average times (lower is better); change is relative to the baseline. A change smaller
+# than the two error margins combined is within noise.
+set -euo pipefail
+
+: "${2:?usage: $0 <baseline.json> <candidate.json>}"
+command -v jq > /dev/null || { echo "jq is required" >&2; exit 1; }
+
+# "Class.method [param=value,...]" -> "score error unit"
+scores() {
+  jq -r '.[] | "\(.benchmark | split(".") | .[-2:] | join("."))\(if .params then " [" + (.params | to_entries | map("\(.key)=\(.value)") | join(",")) + "]" else "" end)\t\(.primaryMetric.score) \(.primaryMetric.scoreError) \(.primaryMetric.scoreUnit)"' "$1" | LC_ALL=C sort -t $'\t' -k1,1
+}
+
+printf '%-60s %14s %14s %9s %s\n' benchmark baseline candidate change unit
+LC_ALL=C join -t $'\t' -a 1 -a 2 -e '- - -' -o 0,1.2,2.2 <(scores "$1") <(scores "$2") |
+  while IFS=$'\t' read -r name base cand; do
+    read -r base_score base_error unit <<< "$base"
+    read -r cand_score cand_error cand_unit <<< "$cand"
+    [[ $unit == - ]] && unit=$cand_unit
+    awk -v n="$name" -v b="$base_score" -v be="$base_error" -v c="$cand_score" -v ce="$cand_error" -v u="$unit" 'BEGIN {
+      change = (b == "-" || c == "-" || b == 0) ? "n/a" : sprintf("%+.1f%%", 100 * (c - b) / b)
+      noise = (change != "n/a" && (c - b < 0 ? b - c : c - b) <= be + ce) ? " ~" : ""
+      printf "%-60s %14s %14s %9s %s%s\n", n, b, c, change, u, noise
+    }'
+  done
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Time-to-first-byte and peak heap of GET /api/expenses for a user with many rows.
+#
+# Usage: BASE_URL=http://localhost:8080 TOKEN=<jwt> PID=<app pid> ./bench/list-streaming.sh [rows...]
+#
+# Seeds the token's user through the import endpoint (once per size, so use a fresh user),
+# then fetches the full list and reports TTFB, total time, bytes and peak heap used.
+# Run once with app.lists.streaming-enabled=false (before) and once with true (after).
+# Peak heap is sampled with jstat every 20 ms; start the app with a fixed -Xmx for stable numbers.
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+: "${TOKEN:?set TOKEN to a JWT for the benchmark user}"
+: "${PID:?set PID to the application process id}"
+SIZES=${*:-10000 100000}
+RUNS=${RUNS:-5}
+AUTH="Authorization: Bearer $TOKEN"
+
+seeded=0
+seed() {
+  local target=$1 file
+  file=$(mktemp --suffix=.csv)
+  echo "kind,date,amount,category,description" > "$file"
+  awk -v from="$seeded" -v to="$target" 'BEGIN {
+    srand(42);
+    for (i = from; i < to; i++) {
+      printf "expense,%04d-%02d-%02d,%.2f,Category %d,Benchmark row %d\n",
+        2015 + i % 10, 1 + i % 12, 1 + i % 28, 1 + rand() * 500, i % 20, i
+    }
+  }' >> "$file"
+  curl -sf -H "$AUTH" -F "file=@$file" "$BASE_URL/api/transactions/import" > /dev/null
+  rm -f "$file"
+  seeded=$target
+}
+
+heap_used_kb() {
+  # S0U + S1U + EU + OU
+  jstat -gc "$PID" | awk 'NR == 2 { print int($3 + $4 + $6 + $8) }'
+}
+
+measure() {
+  local encoding=$1 peak=0 sampler
+  jcmd "$PID" GC.run > /dev/null
+  ( while :; do heap_used_kb; sleep 0.02; done ) > /tmp/heap.$$ &
+  sampler=$!
+  curl -s -o /dev/null -H "$AUTH" -H "Accept-Encoding: $encoding" \
+    -w '%{time_starttransfer} %{time_total} %{size_download}' "$BASE_URL/api/expenses"
+  kill "$sampler" 2> /dev/null; wait "$sampler" 2> /dev/null || true
+  peak=$(sort -n /tmp/heap.$$ | tail -1)
+  rm -f /tmp/heap.$$
+  echo " $peak"
+}
+
+printf '%-8s %-9s %-10s %-10s %-12s %s\n' rows encoding ttfb_s total_s bytes peak_heap_kb
+for rows in $SIZES; do
+  seed "$rows"
+  for encoding in identity gzip; do
+    for ((run = 1; run <= RUNS; run++)); do
+      read -r ttfb total bytes peak <<< "$(measure "$encoding")"
+      printf '%-8s %-9s %-10s %-10s %-12s %s\n' "$rows" "$encoding" "$ttfb" "$total" "$bytes" "$peak"
+    done
+  done
+done
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Throughput and latency of GET /api/reports/summary and POST /api/expenses under rising concurrency,
+# to compare platform threads (default profile) with virtual threads (--spring.profiles.active=virtual).
+#
+# Usage: MODE=platform BASE_URL=http://localhost:8080 TOKEN=<jwt> ./bench/virtual-threads.sh [concurrency...]
+#
+# Needs hey (https://github.com/rakyll/hey). Run once per mode against the same Mongo, heap (-Xmx)
+# and app.mongo.pool.max-size, and with app.reports.cache.max-users=0 so the summary reaches Mongo
+# instead of the report cache. Each step is warmed up for WARMUP before DURATION is measured.
+# POSTs add rows to the token's user; use a fresh user per mode so both runs see the same data.
+# To check for pinned carriers, add -XX:StartFlightRecording and look for jdk.VirtualThreadPinned.
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+: "${TOKEN:?set TOKEN to a JWT for the benchmark user}"
+: "${MODE:?set MODE to a label for this run, e.g. platform or virtual}"
+LEVELS=${*:-50 200 1000 2000}
+DURATION=${DURATION:-30s}
+WARMUP=${WARMUP:-5s}
+AUTH="Authorization: Bearer $TOKEN"
+BODY='{"amount": 12.34, "category": "Benchmark", "description": "Load test", "date": "2024-05-01"}'
+
+command -v hey > /dev/null || { echo "hey is required" >&2; exit 1; }
+
+run() {
+  local duration=$1 concurrency=$2 endpoint=$3
+  if [[ $endpoint == summary ]]; then
+    hey -z "$duration" -c "$concurrency" -H "$AUTH" "$BASE_URL/api/reports/summary"
+  else
+    hey -z "$duration" -c "$concurrency" -H "$AUTH" -m POST -T application/json -d "$BODY" "$BASE_URL/api/expenses"
+  fi
+}
+
+# Requests/sec, p50 and p99 in ms, and the share of non-2xx or failed requests
+summarize() {
+  awk '
+    /Requests\/sec:/ { rps = $2 }
+    $1 == "50%" && $2 == "in" { p50 = $3 * 1000 }
+    $1 == "99%" && $2 == "in" { p99 = $3 * 1000 }
+    /^Status code distribution:/ { section = "status"; next }
+    /^Error distribution:/ { section = "errors"; next }
+    $1 ~ /^\[[0-9]+\]$/ {
+      value = substr($1, 2, length($1) - 2)
+      if (section == "status") { total += $2; if (value !~ /^2/) failed += $2 }
+      if (section == "errors") { total += value; failed += value }
+    }
+    END { printf "%.1f %.1f %.1f %.2f\n", rps, p50, p99, total ? 100 * failed / total : 0 }'
+}
+
+printf '%-9s %-9s %-11s %-10s %-9s %-9s %s\n' mode endpoint concurrency req_per_s p50_ms p99_ms failed_pct
+for endpoint in summary create; do
+  for concurrency in $LEVELS; do
+    run "$WARMUP" "$concurrency" "$endpoint" > /dev/null
+    read -r rps p50 p99 failed <<< "$(run "$DURATION" "$concurrency" "$endpoint" | summarize)"
+    printf '%-9s %-9s %-11s %-10s %-9s %-9s %s\n' "$MODE" "$endpoint" "$concurrency" "$rps" "$p50" "$p99" "$failed"
+  done
+done
@@ -0,0 +1,112 @@
+package com.example.finance_tracker.auth.jwt;
+
+import com.example.finance_tracker.auth.model.User;
+import com.example.finance_tracker.auth.repository.UserRepository;
+import com.example.finance_tracker.auth.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import jakarta.servlet.FilterChain;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost: issuing, validating and reading a token, and the whole
+ * AuthTokenFilter pass. The filter authorizes from the token's claims; the user lookup
+ * it needs for older tokens is stubbed out, so only JWT and security-context work is measured. verifyClaims is the full signature check that
+ * a token pays once; the other read paths are answered from JwtUtils' cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtils = new JwtUtils(Base64.getEncoder().encodeToString(new byte[32]), 86_400_000, 10_000);
+
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword("{noop}unused");
+        user.setRole("USER");
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(stubRepository(user), Duration.ofSeconds(30));
+
+        authentication = new UsernamePasswordAuthenticationToken(
+            UserDetailsServiceImpl.toUserDetails(user), null);
+        token = jwtUtils.generateJwtToken(authentication);
+
+        filter = new AuthTokenFilter(jwtUtils, userDetailsService, List.of());
+        request = new MockHttpServletRequest("GET", "/api/reports/summary");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims verifyClaims() {
+        return jwtUtils.verifyClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    @Benchmark
+    public Authentication doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+        Authentication result = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return result;
+    }
+
+    // Only findByUsername is reached by the filter
+    private static UserRepository stubRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] { UserRepository.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("findByUsername")) {
+                    return Optional.of(user);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.finance_tracker.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener cost added to every Mongo command that finishes under the threshold. sampleRate=1
+ * shapes every command, which is what the listener did before sampling was introduced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlowCommandListenerBenchmark {
+
+    @Param({"0", "0.01", "1"})
+    public double sampleRate;
+
+    private SlowCommandListener listener;
+    private ConnectionDescription connection;
+    private BsonDocument command;
+    private final BsonDocument reply = BsonDocument.parse("{\"ok\": 1}");
+    private int requestId;
+
+    @Setup
+    public void setUp() {
+        listener = new SlowCommandListener(Duration.ofMillis(100), sampleRate);
+        connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+        command = BsonDocument.parse("""
+            {"aggregate": "expenses", "pipeline": [
+              {"$match": {"userId": "u-1", "date": {"$gte": {"$date": "2024-01-01T00:00:00Z"}}}},
+              {"$group": {"_id": "$category", "total": {"$sum": "$amountMinor"}}},
+              {"$sort": {"total": -1}}, {"$limit": 5}],
+             "cursor": {}, "$db": "finance_tracker_db"}""");
+    }
+
+    @Benchmark
+    public void fastCommand() {
+        int id = ++requestId;
+        listener.commandStarted(new CommandStartedEvent(null, 1, id, connection, "finance_tracker_db", "aggregate", command));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, id, connection, "finance_tracker_db", "aggregate",
+            reply, 1_000_000));
+    }
+}
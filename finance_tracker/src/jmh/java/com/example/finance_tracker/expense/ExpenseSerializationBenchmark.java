@@ -0,0 +1,69 @@
+package com.example.finance_tracker.expense;
+
+import com.example.finance_tracker.expense.model.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the expense list responses: the whole list as one value (legacy
+ * ResponseEntity&lt;List&lt;Expense&gt;&gt;) and element by element through a generator,
+ * the way JsonArrayWriter streams it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpenseSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<Expense> expenses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        expenses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Expense expense = new Expense();
+            expense.setId(Long.toHexString(0x65a0_0000_0000_0000L + i));
+            expense.setUserId("benchmark-user");
+            expense.setAmountMinor(100 + random.nextInt(50_000));
+            expense.setCategory("Category " + random.nextInt(20));
+            expense.setDescription("Benchmark row " + i);
+            expense.setDate(LocalDate.of(2015 + i % 10, 1 + i % 12, 1 + i % 28));
+            expenses.add(expense);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeList() {
+        return jsonMapper.writeValueAsBytes(expenses);
+    }
+
+    @Benchmark
+    public void writeStreamed() {
+        try (JsonGenerator generator = jsonMapper.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (Expense expense : expenses) {
+                generator.writePOJO(expense);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TrendGranularity;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.DashboardTotals;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.TrendBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-Java part of the report endpoints: shaping aggregation results into responses.
+ * Inputs are synthetic rows, one per transaction, so the cost scales with the row count
+ * the way it would if the aggregation stopped grouping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportBenchmark {
+
+    private static final int CATEGORIES = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private final DashboardTotals totals = new DashboardTotals(LocalDate.of(2024, 6, 1),
+        1_250_000, 480_000, 310_000, 455_000, 298_000);
+    private final YearMonth lastMonth = YearMonth.of(2024, 6);
+    private ReportService.TrendWindow dailyWindow;
+    private List<TrendBucket> dailyRows;
+    private List<MonthlyRollup> rollups;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate end = lastMonth.atEndOfMonth();
+        dailyWindow = ReportService.TrendWindow.of(end.minusDays(364), end, TrendGranularity.DAY);
+
+        dailyRows = new ArrayList<>(transactions);
+        rollups = new ArrayList<>(transactions);
+        YearMonth firstMonth = lastMonth.minusMonths(6);
+        for (int i = 0; i < transactions; i++) {
+            String kind = random.nextInt(3) == 0 ? MonthlyRollup.REVENUE : MonthlyRollup.EXPENSE;
+            long amount = 100 + random.nextInt(50_000);
+            dailyRows.add(new TrendBucket(kind, end.minusDays(random.nextInt(366)), amount));
+
+            MonthlyRollup rollup = new MonthlyRollup();
+            rollup.setKind(kind);
+            rollup.setKey("Category " + random.nextInt(CATEGORIES));
+            rollup.setMonth(firstMonth.plusMonths(random.nextInt(7)).atDay(1));
+            rollup.setCount(1);
+            rollup.setTotal(amount);
+            rollups.add(rollup);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> summary() {
+        return ReportService.summaryOf(totals);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sixMonthTrend() {
+        return ReportService.sixMonthTrendOf(lastMonth, rollups);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> dailyTrend() {
+        return ReportService.trendOf(dailyWindow, dailyRows);
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryTotals() {
+        return ReportService.categoryTotalsOf(rollups);
+    }
+}
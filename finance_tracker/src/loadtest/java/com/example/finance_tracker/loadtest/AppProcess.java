@@ -0,0 +1,85 @@
+package com.example.finance_tracker.loadtest;
+
+import com.example.finance_tracker.FinanceTrackerApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The real application in its own JVM, so the load generator does not compete with it for
+ * heap or GC. It runs on this harness's classpath with every setting passed as a command-line
+ * argument, so a developer's application.properties cannot change the numbers.
+ */
+final class AppProcess implements AutoCloseable {
+
+    private final Process process;
+    private final int port;
+
+    private AppProcess(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+
+    static AppProcess start(List<String> jvmArgs, List<String> appArgs, Path workDir, Duration startupTimeout)
+            throws IOException, InterruptedException {
+        int port = MongoStandIn.freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FinanceTrackerApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(workDir.resolve("app.log").toFile())
+            .start();
+        AppProcess app = new AppProcess(process, port);
+        app.awaitReady(startupTimeout);
+        return app;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + port;
+    }
+
+    // Any HTTP answer (a 401 included) means it is serving; indexes and rollups were built before start,
+    // so the startup runners have nothing left to do
+    private void awaitReady(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest ping = HttpRequest.newBuilder(URI.create(baseUrl() + "/welcome")).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + "; see app.log");
+            }
+            try {
+                client.send(ping, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not start within " + timeout + "; see app.log");
+                }
+                Thread.sleep(500);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
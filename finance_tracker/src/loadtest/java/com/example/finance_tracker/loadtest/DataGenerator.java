@@ -0,0 +1,147 @@
+package com.example.finance_tracker.loadtest;
+
+import com.example.finance_tracker.auth.model.User;
+import com.example.finance_tracker.expense.model.Expense;
+import com.example.finance_tracker.revenue.model.Revenue;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds load-test users with a realistic transaction history through the application's own
+ * model classes, so the stored shape (minor-unit amounts, LocalDate encoding) matches what the
+ * API writes. About one row in five is a revenue.
+ * Categories and sources are Zipf-skewed, amounts are log-normal around a per-category base
+ * and follow a yearly season that peaks in December. A fixed seed makes runs repeatable.
+ */
+final class DataGenerator {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final double REVENUE_SHARE = 0.2;
+
+    // Name and typical amount in cents, most frequent first
+    private static final Weighted EXPENSE_CATEGORIES = new Weighted(new String[] {
+        "Groceries", "Food", "Transport", "Shopping", "Entertainment", "Utilities",
+        "Health", "Rent", "Travel", "Education", "Insurance", "Gifts"
+    }, new long[] {
+        4_500, 1_800, 1_200, 6_000, 3_500, 9_000, 5_000, 120_000, 40_000, 25_000, 15_000, 5_000
+    });
+
+    private static final Weighted REVENUE_SOURCES = new Weighted(new String[] {
+        "Salary", "Freelance", "Interest", "Dividends", "Gifts"
+    }, new long[] {
+        350_000, 60_000, 2_000, 8_000, 10_000
+    });
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random;
+    private final int historyDays;
+    private final String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    DataGenerator(MongoTemplate mongoTemplate, long seed, int historyYears) {
+        this.mongoTemplate = mongoTemplate;
+        this.random = new Random(seed);
+        this.historyDays = historyYears * 365;
+    }
+
+    static String username(int transactions, int index) {
+        return "load-" + transactions + "-" + index;
+    }
+
+    /**
+     * Creates the user and inserts the given number of transactions for them.
+     */
+    void seedUser(String username, int transactions) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.test");
+        user.setPassword(passwordHash);
+        user.setRole("USER");
+        mongoTemplate.insert(user);
+
+        LocalDate today = LocalDate.now();
+        List<Expense> expenses = new ArrayList<>(BATCH_SIZE);
+        List<Revenue> revenues = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < transactions; i++) {
+            LocalDate date = today.minusDays(random.nextInt(historyDays));
+            if (random.nextDouble() < REVENUE_SHARE) {
+                int source = REVENUE_SOURCES.pick(random);
+                Revenue revenue = new Revenue();
+                revenue.setUserId(username);
+                revenue.setSource(REVENUE_SOURCES.names[source]);
+                revenue.setAmountMinor(amount(REVENUE_SOURCES.baseAmounts[source], date));
+                revenue.setDate(date);
+                revenues.add(revenue);
+            } else {
+                int category = EXPENSE_CATEGORIES.pick(random);
+                Expense expense = new Expense();
+                expense.setUserId(username);
+                expense.setCategory(EXPENSE_CATEGORIES.names[category]);
+                expense.setDescription(EXPENSE_CATEGORIES.names[category] + " #" + i);
+                expense.setAmountMinor(amount(EXPENSE_CATEGORIES.baseAmounts[category], date));
+                expense.setDate(date);
+                expenses.add(expense);
+            }
+            if (expenses.size() == BATCH_SIZE) {
+                mongoTemplate.insert(expenses, Expense.class);
+                expenses.clear();
+            }
+            if (revenues.size() == BATCH_SIZE) {
+                mongoTemplate.insert(revenues, Revenue.class);
+                revenues.clear();
+            }
+        }
+        if (!expenses.isEmpty()) {
+            mongoTemplate.insert(expenses, Expense.class);
+        }
+        if (!revenues.isEmpty()) {
+            mongoTemplate.insert(revenues, Revenue.class);
+        }
+    }
+
+    // Log-normal around the base, scaled by a season peaking in December; never below one cent
+    private long amount(long baseAmount, LocalDate date) {
+        double season = 1 + 0.25 * Math.cos(2 * Math.PI * (date.getMonthValue() - 12) / 12.0);
+        double noise = Math.exp(0.5 * random.nextGaussian());
+        return Math.max(1, Math.round(baseAmount * season * noise));
+    }
+
+    /**
+     * Names with Zipf(1.2) weights by position, sampled through the cumulative distribution.
+     */
+    private static final class Weighted {
+        private final String[] names;
+        private final long[] baseAmounts;
+        private final double[] cumulative;
+
+        Weighted(String[] names, long[] baseAmounts) {
+            this.names = names;
+            this.baseAmounts = baseAmounts;
+            this.cumulative = new double[names.length];
+            double sum = 0;
+            for (int i = 0; i < names.length; i++) {
+                sum += 1 / Math.pow(i + 1, 1.2);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < names.length; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int pick(Random random) {
+            double u = random.nextDouble();
+            for (int i = 0; i < cumulative.length; i++) {
+                if (u < cumulative[i]) {
+                    return i;
+                }
+            }
+            return cumulative.length - 1;
+        }
+    }
+}
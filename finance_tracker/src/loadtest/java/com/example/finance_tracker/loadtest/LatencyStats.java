@@ -0,0 +1,51 @@
+package com.example.finance_tracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint in nanoseconds. Samples are kept exactly and sorted once for
+ * the report; at load-test rates (millions of samples at most) that is cheaper and more
+ * precise than a histogram.
+ */
+final class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private long dropped;
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    // An arrival that could not be sent because the in-flight cap was reached
+    synchronized void drop() {
+        dropped++;
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, dropped, count / seconds,
+            percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), percentile(sorted, 99.9),
+            count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    record Summary(long requests, long errors, long dropped, double throughput,
+                   double p50, double p95, double p99, double p999, double max) {}
+}
@@ -0,0 +1,236 @@
+package com.example.finance_tracker.loadtest;
+
+import com.example.finance_tracker.auth.jwt.JwtUtils;
+import com.example.finance_tracker.auth.model.User;
+import com.example.finance_tracker.auth.service.UserDetailsServiceImpl;
+import com.example.finance_tracker.config.MongoIndexManager;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End-to-end load test on one box, offline: starts a local mongod, seeds users at each
+ * transaction tier, starts the real application against it and drives an open-model
+ * workload per tier, reporting throughput and latency percentiles per endpoint.
+ *
+ * Run with ./gradlew loadTest -PloadTestArgs="--tiers=1000,100000 --rate=100". Options
+ * (defaults in parentheses):
+ *   --tiers           transactions per user, one phase each (1000,100000,1000000)
+ *   --users           users seeded per tier (3)
+ *   --rate            arrivals per second (50)
+ *   --warmup          unmeasured load before each phase (15s)
+ *   --duration        measured load per phase (60s)
+ *   --mix             endpoint weights (summary:60,expenses:30,login:10)
+ *   --expenses-path   list request, e.g. /api/expenses?limit=50 for a keyset page (/api/expenses)
+ *   --max-in-flight   outstanding requests before arrivals are dropped (2000)
+ *   --history-years   span of seeded transaction dates (3)
+ *   --seed            data and workload seed (42)
+ *   --mongod          mongod binary (mongod)
+ *   --app-jvm-args    JVM options for the application, space separated (-Xmx1g)
+ *   --app-args        extra application arguments, e.g. --spring.profiles.active=virtual
+ *   --out             working directory for logs, data and results.csv (build/loadtest)
+ */
+public final class LoadTest {
+
+    private static final String DATABASE = "finance_tracker_loadtest";
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<Integer> tiers = Arrays.stream(option(options, "tiers", "1000,100000,1000000").split(","))
+            .map(String::trim).map(Integer::parseInt).toList();
+        int users = Integer.parseInt(option(options, "users", "3"));
+        double rate = Double.parseDouble(option(options, "rate", "50"));
+        Duration warmup = duration(option(options, "warmup", "15s"));
+        Duration duration = duration(option(options, "duration", "60s"));
+        Map<String, Integer> mix = mix(option(options, "mix", "summary:60,expenses:30,login:10"));
+        String expensesPath = option(options, "expenses-path", "/api/expenses");
+        int maxInFlight = Integer.parseInt(option(options, "max-in-flight", "2000"));
+        int historyYears = Integer.parseInt(option(options, "history-years", "3"));
+        long seed = Long.parseLong(option(options, "seed", "42"));
+        Path workDir = Files.createDirectories(Path.of(option(options, "out", "build/loadtest")));
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        String jwtSecret = Base64.getEncoder().encodeToString(secret);
+
+        try (MongoStandIn mongo = MongoStandIn.start(option(options, "mongod", "mongod"), workDir)) {
+            log("mongod listening on port " + mongo.port());
+            seed(mongo, tiers, users, seed, historyYears);
+
+            List<String> appArgs = new ArrayList<>(List.of(
+                "--spring.data.mongodb.host=127.0.0.1",
+                "--spring.data.mongodb.port=" + mongo.port(),
+                "--spring.data.mongodb.database=" + DATABASE,
+                "--app.jwtSecret=" + jwtSecret,
+                "--app.jwtExpirationMs=86400000",
+                "--app.upload.dir=" + workDir.resolve("uploads").toAbsolutePath(),
+                // Every simulated login comes from one address
+                "--app.rate-limit.enabled=false",
+                // Required to start; never contacted by the measured endpoints
+                "--spring.mail.host=localhost",
+                "--spring.security.oauth2.client.registration.google.client-id=loadtest",
+                "--spring.security.oauth2.client.registration.google.client-secret=loadtest"));
+            appArgs.addAll(words(option(options, "app-args", "")));
+
+            try (AppProcess app = AppProcess.start(words(option(options, "app-jvm-args", "-Xmx1g")), appArgs,
+                    workDir, Duration.ofMinutes(5));
+                 PrintWriter csv = new PrintWriter(Files.newBufferedWriter(workDir.resolve("results.csv")))) {
+                log("Application listening at " + app.baseUrl());
+                csv.println("transactions,endpoint,requests,throughput_rps,errors,dropped,p50_ms,p95_ms,p99_ms,p999_ms,max_ms");
+                JwtUtils jwtUtils = new JwtUtils(jwtSecret, 86_400_000, 0);
+
+                for (int tier : tiers) {
+                    List<OpenModelDriver.Endpoint> endpoints = endpoints(app.baseUrl(), tier, users, mix, expensesPath, jwtUtils);
+                    OpenModelDriver driver = new OpenModelDriver(endpoints, users, rate, maxInFlight, seed + tier);
+
+                    log("Tier " + tier + ": warming up for " + warmup);
+                    driver.run(warmup);
+                    log("Tier " + tier + ": measuring " + rate + " req/s for " + duration);
+                    report(tier, driver.run(duration), duration, csv);
+                }
+            }
+        }
+        log("Results written to " + workDir.resolve("results.csv"));
+    }
+
+    private static void seed(MongoStandIn mongo, List<Integer> tiers, int users, long seed, int historyYears) {
+        try (MongoClient client = MongoClients.create(mongo.connectionString())) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, DATABASE);
+            DataGenerator generator = new DataGenerator(mongoTemplate, seed, historyYears);
+            for (int tier : tiers) {
+                long start = System.nanoTime();
+                for (int i = 0; i < users; i++) {
+                    generator.seedUser(DataGenerator.username(tier, i), tier);
+                }
+                log(String.format(Locale.ROOT, "Seeded %d users x %d transactions in %.1fs",
+                    users, tier, (System.nanoTime() - start) / 1e9));
+            }
+
+            // Done here so the application's startup runners find nothing to build
+            long start = System.nanoTime();
+            new MongoIndexManager(mongoTemplate, "off").ensureIndexes();
+            new ReportAggregationRepository(mongoTemplate).rebuildRollups(null);
+            log(String.format(Locale.ROOT, "Built indexes and monthly rollups in %.1fs", (System.nanoTime() - start) / 1e9));
+        }
+    }
+
+    private static List<OpenModelDriver.Endpoint> endpoints(String baseUrl, int tier, int users, Map<String, Integer> mix,
+                                                            String expensesPath, JwtUtils jwtUtils) {
+        // Logins are measured as-is; API calls use tokens minted with the application's secret
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = token(jwtUtils, DataGenerator.username(tier, i));
+        }
+
+        List<OpenModelDriver.Endpoint> endpoints = new ArrayList<>();
+        mix.forEach((name, weight) -> endpoints.add(switch (name) {
+            case "summary" -> new OpenModelDriver.Endpoint(name, weight, user -> authorized(baseUrl + "/api/reports/summary", tokens[user]));
+            case "expenses" -> new OpenModelDriver.Endpoint(name, weight, user -> authorized(baseUrl + expensesPath, tokens[user]));
+            case "login" -> new OpenModelDriver.Endpoint(name, weight, user -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + DataGenerator.username(tier, user)
+                    + "\",\"password\":\"" + DataGenerator.PASSWORD + "\"}"))
+                .build());
+            default -> throw new IllegalArgumentException("Unknown endpoint in --mix: " + name + " (use summary, expenses, login)");
+        }));
+        return endpoints;
+    }
+
+    private static HttpRequest authorized(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(30))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+    }
+
+    private static void report(int tier, Map<String, LatencyStats> stats, Duration duration, PrintWriter csv) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf(Locale.ROOT, "%n%-10s %9s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "req/s", "errors", "dropped", "p50_ms", "p95_ms", "p99_ms", "p99.9_ms", "max_ms");
+        stats.forEach((endpoint, latencies) -> {
+            LatencyStats.Summary s = latencies.summarize(seconds);
+            System.out.printf(Locale.ROOT, "%-10s %9d %9.1f %7d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, s.requests(), s.throughput(), s.errors(), s.dropped(), s.p50(), s.p95(), s.p99(), s.p999(), s.max());
+            csv.printf(Locale.ROOT, "%d,%s,%d,%.1f,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                tier, endpoint, s.requests(), s.throughput(), s.errors(), s.dropped(), s.p50(), s.p95(), s.p99(), s.p999(), s.max());
+        });
+        System.out.println();
+        csv.flush();
+    }
+
+    private static String token(JwtUtils jwtUtils, String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("");
+        user.setRole("USER");
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(UserDetailsServiceImpl.toUserDetails(user), null));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+
+    // 500ms, 30s or 5m
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Use ms, s or m: " + value);
+        };
+    }
+
+    private static List<String> words(String value) {
+        return value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+    }
+
+    private static void log(String message) {
+        System.out.println("[loadtest] " + message);
+    }
+}
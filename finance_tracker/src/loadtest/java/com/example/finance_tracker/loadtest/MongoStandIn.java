@@ -0,0 +1,102 @@
+package com.example.finance_tracker.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A throwaway mongod on a free loopback port with its data in a temp directory under build/,
+ * removed again on close. A real server rather than an in-memory fake, because the report
+ * pipelines rely on aggregation operators ($dateTrunc, $unionWith, ...) fakes do not implement.
+ * Only the locally installed binary is used, so it runs offline.
+ */
+final class MongoStandIn implements AutoCloseable {
+
+    private final Process process;
+    private final Path dataDir;
+    private final int port;
+
+    private MongoStandIn(Process process, Path dataDir, int port) {
+        this.process = process;
+        this.dataDir = dataDir;
+        this.port = port;
+    }
+
+    static MongoStandIn start(String mongodBinary, Path workDir) throws IOException, InterruptedException {
+        int port = freePort();
+        Path dataDir = Files.createDirectories(workDir.resolve("mongo-" + port));
+        Process process = new ProcessBuilder(mongodBinary,
+                "--port", Integer.toString(port),
+                "--bind_ip", "127.0.0.1",
+                "--dbpath", dataDir.toString(),
+                "--quiet")
+            .redirectErrorStream(true)
+            .redirectOutput(workDir.resolve("mongod.log").toFile())
+            .start();
+
+        MongoStandIn standIn = new MongoStandIn(process, dataDir, port);
+        standIn.awaitReady();
+        return standIn;
+    }
+
+    int port() {
+        return port;
+    }
+
+    String connectionString() {
+        return "mongodb://127.0.0.1:" + port;
+    }
+
+    private void awaitReady() throws InterruptedException {
+        MongoClientSettings settings = MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(connectionString()))
+            .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(500, TimeUnit.MILLISECONDS))
+            .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        try (MongoClient client = MongoClients.create(settings)) {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("mongod exited with " + process.exitValue() + "; see mongod.log");
+                }
+                try {
+                    client.getDatabase("admin").runCommand(new Document("ping", 1));
+                    return;
+                } catch (RuntimeException e) {
+                    if (System.nanoTime() > deadline) {
+                        throw new IllegalStateException("mongod did not become ready within 60s", e);
+                    }
+                    Thread.sleep(250);
+                }
+            }
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.finance_tracker.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model workload: requests arrive as a Poisson process at a fixed rate whether or not
+ * earlier ones have finished, the way independent users behave. Each arrival goes to an
+ * endpoint picked by weight, for a random user, on its own virtual thread.
+ * Latency is measured from the scheduled arrival time, not the actual send, so a stalled
+ * server shows up as latency instead of silently lowering the offered load.
+ */
+final class OpenModelDriver {
+
+    /**
+     * An endpoint in the mix; request builds the call for the given user index.
+     */
+    record Endpoint(String name, int weight, IntFunction<HttpRequest> request) {}
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final List<Endpoint> endpoints;
+    private final int totalWeight;
+    private final int users;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final Random random;
+
+    OpenModelDriver(List<Endpoint> endpoints, int users, double ratePerSecond, int maxInFlight, long seed) {
+        this.endpoints = endpoints;
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        this.users = users;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Offers load for the given duration and waits for outstanding requests.
+     * Returns per-endpoint latencies, in mix order.
+     */
+    Map<String, LatencyStats> run(Duration duration) throws InterruptedException {
+        Map<String, LatencyStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint.name(), new LatencyStats()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long end = System.nanoTime() + duration.toNanos();
+            long next = System.nanoTime();
+            while (true) {
+                // Exponential inter-arrival times give a Poisson arrival process
+                next += (long) (-Math.log(1 - random.nextDouble()) / ratePerSecond * TimeUnit.SECONDS.toNanos(1));
+                if (next >= end) {
+                    break;
+                }
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Endpoint endpoint = pick();
+                LatencyStats endpointStats = stats.get(endpoint.name());
+                if (!inFlight.tryAcquire()) {
+                    endpointStats.drop();
+                    continue;
+                }
+                HttpRequest request = endpoint.request().apply(random.nextInt(users));
+                long scheduled = next;
+                executor.execute(() -> {
+                    boolean success = false;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        success = response.statusCode() / 100 == 2;
+                    } catch (IOException e) {
+                        // Counted as an error below
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        endpointStats.record(System.nanoTime() - scheduled, success);
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private Endpoint pick() {
+        int ticket = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.getLast();
+    }
+}
@@ -2,10 +2,15 @@ package com.example.finance_tracker;
 
 import com.example.finance_tracker.auth.model.User;
 import com.example.finance_tracker.auth.repository.UserRepository;
+import com.example.finance_tracker.common.MoneyMigration;
+import com.example.finance_tracker.report.service.RollupService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -21,7 +26,9 @@ public class FinanceTrackerApplication {
 		SpringApplication.run(FinanceTrackerApplication.class, args);
 	}
 
+	// Must run before the unique user indexes are created (see MongoConfig)
 	@Bean
+	@Order(1)
 	public CommandLineRunner cleanupDuplicateUsers(UserRepository userRepository, MongoTemplate mongoTemplate) {
 		return args -> {
 			// Find all users
@@ -46,4 +53,19 @@ public class FinanceTrackerApplication {
 			});
 		};
 	}
+
+	// Runs once every bean exists but before the web server opens its port, so no request reads
+	// legacy double amounts and no report is served from rollups summed over mixed data
+	@Bean
+	public SmartInitializingSingleton rebuildMonthlyRollups(RollupService rollupService, MoneyMigration moneyMigration,
+			@Value("${app.rollups.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+		return () -> {
+			// Convert legacy double amounts first; rollups summed from them must then be rebuilt
+			boolean rollupsOutdated = moneyMigration.migrate();
+			// Seed the rollups on first start after upgrading, or force a full repair via the flag
+			if (rebuildOnStartup || rollupsOutdated || rollupService.isEmpty()) {
+				rollupService.rebuildAll();
+			}
+		};
+	}
 }
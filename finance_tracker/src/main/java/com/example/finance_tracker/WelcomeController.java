@@ -1,9 +1,11 @@
 package com.example.finance_tracker;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@Profile("!reactive")
 public class WelcomeController {
     @GetMapping("/welcome")
     public String welcome(){
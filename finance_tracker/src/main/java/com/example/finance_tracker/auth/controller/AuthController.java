@@ -11,7 +11,11 @@ import com.example.finance_tracker.auth.repository.UserRepository;
 import com.example.finance_tracker.auth.service.AuthService;
 import com.example.finance_tracker.auth.service.EmailService;
 import com.example.finance_tracker.auth.service.OAuthService;
+import com.example.finance_tracker.auth.service.TwoFactorChallengeService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,6 +34,7 @@ import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
+@Profile("!reactive")
 public class AuthController {
 
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
@@ -45,6 +50,7 @@ public class AuthController {
     private final EmailService emailService;
     private final AuthService authService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TwoFactorChallengeService twoFactorChallengeService;
 
     public AuthController(AuthenticationManager authenticationManager, 
                           UserRepository userRepository, 
@@ -55,7 +61,8 @@ public class AuthController {
                           TwoFactorSetupRepository twoFactorSetupRepository,
                           EmailService emailService,
                           AuthService authService,
-                          UserDetailsServiceImpl userDetailsService) {
+                          UserDetailsServiceImpl userDetailsService,
+                          TwoFactorChallengeService twoFactorChallengeService) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.encoder = encoder;
@@ -66,6 +73,7 @@ public class AuthController {
         this.emailService = emailService;
         this.authService = authService;
         this.userDetailsService = userDetailsService;
+        this.twoFactorChallengeService = twoFactorChallengeService;
     }
 
     @PostMapping("/register")
@@ -97,8 +105,11 @@ public class AuthController {
         User user = userRepository.findByUsername(springUser.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Stands in for the password in the 2FA step, so it is not hashed a second time
+        String challengeToken = twoFactorChallengeService.issue(user.getUsername(), TwoFactorChallengeService.PASSWORD_LOGIN);
+
         if (user.isTwoFactorEnabled()) {
-             return ResponseEntity.ok(Map.of("requires2fa", true, "username", user.getUsername()));
+             return ResponseEntity.ok(Map.of("requires2fa", true, "username", user.getUsername(), "challengeToken", challengeToken));
         } else {
              // Force setup
              if (user.getTwoFactorSecret() == null) {
@@ -110,7 +121,8 @@ public class AuthController {
                  "setup2fa", true, 
                  "secret", user.getTwoFactorSecret(), 
                  "qrUrl", qrUrl, 
-                 "username", user.getUsername()
+                 "username", user.getUsername(),
+                 "challengeToken", challengeToken
              ));
         }
     }
@@ -153,8 +165,7 @@ public class AuthController {
 
     @PostMapping("/verify-2fa")
     public ResponseEntity<?> verify2fa(@RequestBody Map<String, Object> request) {
-        String username = (String) request.get("username");
-        String password = (String) request.get("password");
+        String challengeToken = (String) request.get("challengeToken");
         String codeStr = request.get("code").toString();
         Boolean useEmailOtp = request.get("useEmailOtp") != null ? (Boolean) request.get("useEmailOtp") : false;
         
@@ -168,8 +179,12 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("message", "Invalid code format. Please enter exactly 6 digits."));
         }
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password));
+        // The challenge from /login proves the password was checked
+        Claims challenge = twoFactorChallengeService.attempt(challengeToken, TwoFactorChallengeService.PASSWORD_LOGIN);
+        if (challenge == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Your sign-in has expired. Please sign in again."));
+        }
+        String username = challenge.getSubject();
         
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -204,12 +219,18 @@ public class AuthController {
             isValid = authService.verify2fa(user.getTwoFactorSecret(), code);
         }
         
+        if (isValid && !twoFactorChallengeService.complete(challenge)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Your sign-in has expired. Please sign in again."));
+        }
         if (isValid) {
             user.setTwoFactorEnabled(true);
             userRepository.save(user);
             
+            UserDetails userDetails = UserDetailsServiceImpl.toUserDetails(user);
+            Authentication authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtils.generateJwtToken(authentication);
+            String jwt = jwtUtils.generateJwtToken(authentication, user.getTokenVersion());
             return ResponseEntity.ok(Map.of("message", "Login successful!", "token", jwt));
         } else {
             return ResponseEntity.badRequest().body(Map.of("message", "Invalid 2FA code. Please check and try again."));
@@ -232,8 +253,11 @@ public class AuthController {
         
         User user = (User) oauthResult.get("user");
 
+        // Stands in for the password in the 2FA step, so it is not hashed a second time
+        String challengeToken = twoFactorChallengeService.issue(user.getUsername(), TwoFactorChallengeService.OAUTH_LOGIN);
+
         if (user.isTwoFactorEnabled()) {
-             return ResponseEntity.ok(Map.of("requires2fa", true, "username", user.getUsername()));
+             return ResponseEntity.ok(Map.of("requires2fa", true, "username", user.getUsername(), "challengeToken", challengeToken));
         } else {
              // Force setup
              if (user.getTwoFactorSecret() == null) {
@@ -245,14 +269,15 @@ public class AuthController {
                  "setup2fa", true, 
                  "secret", user.getTwoFactorSecret(), 
                  "qrUrl", qrUrl, 
-                 "username", user.getUsername()
+                 "username", user.getUsername(),
+                 "challengeToken", challengeToken
              ));
         }
     }
     
     @PostMapping("/verify-2fa-oauth")
     public ResponseEntity<?> verify2faOAuth(@RequestBody Map<String, Object> request) {
-        String username = (String) request.get("username");
+        String challengeToken = (String) request.get("challengeToken");
         String codeStr = request.get("code").toString();
         Boolean useEmailOtp = request.get("useEmailOtp") != null ? (Boolean) request.get("useEmailOtp") : false;
         
@@ -266,6 +291,13 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("message", "Invalid code format. Please enter exactly 6 digits."));
         }
         
+        // The challenge from /oauth proves the provider token was checked
+        Claims challenge = twoFactorChallengeService.attempt(challengeToken, TwoFactorChallengeService.OAUTH_LOGIN);
+        if (challenge == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Your sign-in has expired. Please sign in again."));
+        }
+        String username = challenge.getSubject();
+        
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
@@ -299,17 +331,20 @@ public class AuthController {
             isValid = authService.verify2fa(user.getTwoFactorSecret(), code);
         }
         
+        if (isValid && !twoFactorChallengeService.complete(challenge)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Your sign-in has expired. Please sign in again."));
+        }
         if (isValid) {
             user.setTwoFactorEnabled(true);
             userRepository.save(user);
             
              // Generate JWT for OAuth User
-            UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+            UserDetails userDetails = UserDetailsServiceImpl.toUserDetails(user);
             UsernamePasswordAuthenticationToken authentication = 
                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            String jwt = jwtUtils.generateJwtToken(authentication);
+            String jwt = jwtUtils.generateJwtToken(authentication, user.getTokenVersion());
             return ResponseEntity.ok(Map.of("message", "Login successful!", "token", jwt));
         } else {
             return ResponseEntity.badRequest().body(Map.of("message", "Invalid 2FA code. Please check and try again."));
@@ -360,7 +395,10 @@ public class AuthController {
 
         User user = userOptional.get();
         user.setPassword(encoder.encode(request.getNewPassword()));
+        // Revokes tokens issued before the reset on revocation-checked paths
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
 
         passwordResetRepository.delete(resetToken);
 
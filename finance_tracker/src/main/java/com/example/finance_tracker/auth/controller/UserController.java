@@ -2,6 +2,8 @@ package com.example.finance_tracker.auth.controller;
 
 import com.example.finance_tracker.auth.model.User;
 import com.example.finance_tracker.auth.repository.UserRepository;
+import com.example.finance_tracker.auth.service.UserDetailsServiceImpl;
+import org.springframework.context.annotation.Profile;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -20,15 +22,18 @@ import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/users")
+@Profile("!reactive")
 public class UserController {
 
     @Value("${app.upload.dir}")
     private String uploadDir;
 
     private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userDetailsService;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, UserDetailsServiceImpl userDetailsService) {
         this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
     }
 
     @DeleteMapping("/me")
@@ -52,6 +57,7 @@ public class UserController {
             }
             
             userRepository.delete(currentUser);
+            userDetailsService.evict(currentUser.getUsername());
             return ResponseEntity.ok(Map.of("message", "Account deleted successfully."));
         }
         return ResponseEntity.badRequest().body(Map.of("message", "User not found."));
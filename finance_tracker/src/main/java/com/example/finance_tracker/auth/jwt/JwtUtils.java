@@ -1,5 +1,8 @@
 package com.example.finance_tracker.auth.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -7,46 +10,127 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
+    // Carried in the token so requests can be authorized without loading the user
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+    // Set only on 2FA challenge tokens, which must never pass as access tokens
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String CHALLENGE_PURPOSE = "2fa";
+    private static final String METHOD_CLAIM = "amr";
 
-    @Value("${app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
+    // Decoding the secret and building the parser are the costly parts; both are immutable and thread-safe
+    private final SecretKey key;
+    private final JwtParser parser;
+    // Claims of recently verified tokens by SHA-256 digest, each kept until the token expires
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    public JwtUtils(@Value("${app.jwtSecret}") String jwtSecret,
+                    @Value("${app.jwtExpirationMs}") int jwtExpirationMs,
+                    @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((ByteBuffer digest, Claims claims) ->
+                        Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+                .build();
     }
 
     public String generateJwtToken(Authentication authentication) {
+        return generateJwtToken(authentication, 0);
+    }
+
+    public String generateJwtToken(Authentication authentication, long tokenVersion) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        String role = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .findFirst()
+                .orElse("ROLE_USER");
 
         return Jwts.builder()
                 .subject((userPrincipal.getUsername()))
+                .claim(ROLE_CLAIM, role)
+                .claim(VERSION_CLAIM, tokenVersion)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), Jwts.SIG.HS256)
+                .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().verifyWith(key()).build()
-                .parseSignedClaims(token).getPayload().getSubject();
+    // Short-lived proof that the first login step passed for this user and method
+    public String generateChallengeToken(String username, String method, Duration ttl) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(username)
+                .id(UUID.randomUUID().toString())
+                .claim(PURPOSE_CLAIM, CHALLENGE_PURPOSE)
+                .claim(METHOD_CLAIM, method)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + ttl.toMillis()))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
     }
 
-    public boolean validateJwtToken(String authToken) {
+    // Claims of a valid challenge issued for the given login method, or null
+    public Claims parseChallengeToken(String token, String method) {
+        try {
+            Claims claims = verifyClaims(token);
+            if (CHALLENGE_PURPOSE.equals(claims.get(PURPOSE_CLAIM)) && method.equals(claims.get(METHOD_CLAIM))) {
+                return claims;
+            }
+            logger.error("JWT is not a 2FA challenge for {} login", method);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("Invalid 2FA challenge token: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Verifies the token and returns its claims, or null when it is invalid or expired.
+     * A token already verified is answered from the cache with a digest and a lookup,
+     * so filters should call this once per request and read everything from the result.
+     */
+    public Claims parseClaims(String token) {
+        if (token == null) {
+            return null;
+        }
+        ByteBuffer digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Jwts.parser().verifyWith(key()).build().parseSignedClaims(authToken);
-            return true;
+            Claims claims = verifyClaims(token);
+            if (claims.get(PURPOSE_CLAIM) != null) {
+                logger.error("JWT is a 2FA challenge, not an access token");
+                return null;
+            }
+            // Tokens without an expiry are never issued here; they are verified but not cached
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -55,7 +139,41 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT signature is invalid: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    // Full signature and expiry check, bypassing the cache
+    public Claims verifyClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    // Null for tokens issued before the role was embedded
+    public static String role(Claims claims) {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+
+    public static long tokenVersion(Claims claims) {
+        return claims.get(VERSION_CLAIM) instanceof Number version ? version.longValue() : 0;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
         }
-        return false;
     }
 }
@@ -0,0 +1,70 @@
+package com.example.finance_tracker.auth.jwt;
+
+import com.example.finance_tracker.auth.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of AuthTokenFilter: validates the Bearer token, builds the user from
+ * its claims and puts the authentication into the Reactor context instead of a thread-local.
+ * An invalid token leaves the request unauthenticated, as before.
+ */
+public class JwtWebFilter implements WebFilter {
+    private static final Logger logger = LoggerFactory.getLogger(JwtWebFilter.class);
+
+    private final JwtUtils jwtUtils;
+    private final ReactiveUserDetailsService userDetailsService;
+
+    public JwtWebFilter(JwtUtils jwtUtils, ReactiveUserDetailsService userDetailsService) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = parseJwt(exchange);
+        Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+        if (claims == null) {
+            return chain.filter(exchange);
+        }
+
+        // Tokens carry the role; only ones issued before that need the user loaded
+        String role = JwtUtils.role(claims);
+        Mono<UserDetails> principal = role != null
+            ? Mono.just(UserDetailsServiceImpl.fromToken(claims.getSubject(), role))
+            : userDetailsService.findByUsername(claims.getSubject());
+
+        return principal
+            .map(userDetails -> new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()))
+            .doOnError(e -> logger.error("Cannot set user authentication: {}", e.getMessage()))
+            .onErrorResume(e -> Mono.empty())
+            .flatMap(authentication -> chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                .thenReturn(true))
+            .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+            .then();
+    }
+
+    private String parseJwt(ServerWebExchange exchange) {
+        String headerAuth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+
+        return null;
+    }
+}
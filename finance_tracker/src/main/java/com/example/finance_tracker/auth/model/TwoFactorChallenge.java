@@ -0,0 +1,29 @@
+package com.example.finance_tracker.auth.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.Date;
+
+// Attempts made with one 2FA challenge token, keyed by its jti; removed by a TTL index once it expires
+@Document(collection = "two_factor_challenges")
+public class TwoFactorChallenge {
+    @Id
+    private String id;
+    private int attempts;
+    private boolean used;
+    private Date expiresAt;
+
+    public TwoFactorChallenge() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public boolean isUsed() { return used; }
+    public void setUsed(boolean used) { this.used = used; }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+}
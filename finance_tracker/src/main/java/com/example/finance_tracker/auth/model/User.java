@@ -22,4 +22,7 @@ public class User {
     private String twoFactorSecret;
     private boolean isTwoFactorEnabled;
     private String avatarUrl;
+
+    // Bumped to revoke issued tokens (password reset); checked on revocation-sensitive paths
+    private long tokenVersion;
 }
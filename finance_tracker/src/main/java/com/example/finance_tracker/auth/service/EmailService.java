@@ -1,5 +1,7 @@
 package com.example.finance_tracker.auth.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -12,6 +14,9 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // Fixed "From" address so it looks like a real email
     private String fromEmail = "noreply@financetracker.com";
 
@@ -22,7 +27,7 @@ public class EmailService {
         message.setSubject("Password Reset Request");
         message.setText("To reset your password, please use the following code:\n\n" + token + "\n\nThis code will expire in 15 minutes.");
         
-        mailSender.send(message);
+        send("password_reset", message);
     }
 
     public void send2FASetupEmail(String toEmail, String token) {
@@ -32,6 +37,18 @@ public class EmailService {
         message.setSubject("2FA Setup Code - Finance Tracker");
         message.setText("To complete your 2FA setup, please use the following code:\n\n" + token + "\n\nThis code will expire in 10 minutes.\n\nIf you did not request this code, please ignore this email.");
         
-        mailSender.send(message);
+        send("2fa_setup", message);
+    }
+
+    // SMTP round trips are slow and sit on the request path, so time them by type and outcome
+    private void send(String type, SimpleMailMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("email.send", "type", type, "outcome", outcome));
+        }
     }
 }
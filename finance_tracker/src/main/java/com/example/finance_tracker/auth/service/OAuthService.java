@@ -5,6 +5,7 @@ import com.example.finance_tracker.auth.model.User;
 import com.example.finance_tracker.auth.repository.UserRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -35,19 +36,23 @@ public class OAuthService {
     @Value("${spring.security.oauth2.client.registration.github.client-secret:}")
     private String githubClientSecret;
 
-    public OAuthService(UserRepository userRepository, JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService, ObjectMapper objectMapper) {
+    public OAuthService(UserRepository userRepository, JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService, ObjectMapper objectMapper,
+                        ObservationRegistry observationRegistry) {
         this.userRepository = userRepository;
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
         this.objectMapper = objectMapper;
         this.restTemplate = new RestTemplate();
+        // Times every call to the provider as http.client.requests
+        this.restTemplate.setObservationRegistry(observationRegistry);
     }
 
     public Map<String, Object> processGoogleLogin(String idToken) {
         try {
             // 1. Verify Google Token
-            String url = "https://oauth2.googleapis.com/tokeninfo?id_token=" + idToken;
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+            // A URI template keeps the token out of the metric's uri tag
+            String url = "https://oauth2.googleapis.com/tokeninfo?id_token={idToken}";
+            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class, idToken);
             
             if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
                 throw new RuntimeException("Invalid Google Token");
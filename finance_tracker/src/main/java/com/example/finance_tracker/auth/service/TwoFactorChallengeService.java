@@ -0,0 +1,75 @@
+package com.example.finance_tracker.auth.service;
+
+import com.example.finance_tracker.auth.jwt.JwtUtils;
+import com.example.finance_tracker.auth.model.TwoFactorChallenge;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Second step of login. After the password (or OAuth) check, the client gets a short-lived
+ * signed challenge token instead of having to resend its password, so BCrypt runs once per login.
+ * A challenge allows a few code attempts and stops working once one succeeds.
+ */
+@Service
+public class TwoFactorChallengeService {
+
+    public static final String PASSWORD_LOGIN = "pwd";
+    public static final String OAUTH_LOGIN = "oauth";
+
+    // Bounds guessing of the 6-digit code, which no longer costs a password hash per try
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final JwtUtils jwtUtils;
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+
+    public TwoFactorChallengeService(JwtUtils jwtUtils,
+                                     MongoTemplate mongoTemplate,
+                                     @Value("${app.auth.challenge-ttl:5m}") Duration ttl) {
+        this.jwtUtils = jwtUtils;
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+    }
+
+    public String issue(String username, String method) {
+        return jwtUtils.generateChallengeToken(username, method, ttl);
+    }
+
+    /**
+     * Counts an attempt at the challenge and returns its claims (the subject is the username),
+     * or null when it is invalid, expired, already used or out of attempts.
+     */
+    public Claims attempt(String token, String method) {
+        Claims challenge = token != null ? jwtUtils.parseChallengeToken(token, method) : null;
+        if (challenge == null) {
+            return null;
+        }
+        Query unspent = new Query(Criteria.where("_id").is(challenge.getId())
+                .and("used").ne(true)
+                .and("attempts").lt(MAX_ATTEMPTS));
+        Update attempt = new Update().inc("attempts", 1).setOnInsert("expiresAt", challenge.getExpiration());
+        try {
+            // The first attempt inserts the record; a spent one fails the match and collides on _id
+            mongoTemplate.findAndModify(unspent, attempt, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    TwoFactorChallenge.class);
+            return challenge;
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    // Marks the challenge used after a correct code; false if a concurrent attempt got there first
+    public boolean complete(Claims challenge) {
+        return mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(challenge.getId()).and("used").ne(true)),
+                new Update().set("used", true), TwoFactorChallenge.class).getModifiedCount() == 1;
+    }
+}
@@ -2,30 +2,85 @@ package com.example.finance_tracker.auth.service;
 
 import com.example.finance_tracker.auth.model.User;
 import com.example.finance_tracker.auth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    // Short-lived copies for revocation-sensitive paths; evicted on password reset and account deletion
+    private final Cache<String, CurrentUser> currentUsers;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${app.auth.user-cache.ttl:30s}") Duration userCacheTtl) {
         this.userRepository = userRepository;
+        this.currentUsers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(userCacheTtl)
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        return toUserDetails(user);
+    }
+
+    // Called by DaoAuthenticationProvider with a fresh hash when the stored one is outdated
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        return toUserDetails(user);
+    }
+
+    /**
+     * The user as stored at most app.auth.user-cache.ttl ago, or null when the account is gone
+     * or the token's version predates the last revocation. Each node caches on its own, so a
+     * revocation reaches other nodes within the TTL.
+     */
+    public UserDetails loadCurrentUser(String username, long tokenVersion) {
+        CurrentUser current = currentUsers.get(username, name -> userRepository.findByUsername(name)
+                .map(user -> new CurrentUser(toUserDetails(user), user.getTokenVersion()))
+                .orElse(null));
+        if (current == null || current.tokenVersion() != tokenVersion) {
+            return null;
+        }
+        return current.userDetails();
+    }
 
+    // Call after saving a password, role or token version change, or deleting the account
+    public void evict(String username) {
+        currentUsers.invalidate(username);
+    }
+
+    // Authorities straight from a verified token; the password is never needed after login
+    public static UserDetails fromToken(String username, String role) {
+        return new org.springframework.security.core.userdetails.User(
+                username,
+                "",
+                List.of(new SimpleGrantedAuthority(role))
+        );
+    }
+
+    // Shared with the reactive profile's user lookup so both stacks grant the same authorities
+    public static UserDetails toUserDetails(User user) {
         // Handle role
         List<GrantedAuthority> authorities;
         if (user.getRole() != null && !user.getRole().isEmpty()) {
@@ -42,4 +97,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 authorities
         );
     }
+
+    private record CurrentUser(UserDetails userDetails, long tokenVersion) {}
 }
@@ -0,0 +1,9 @@
+package com.example.finance_tracker.common;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. nextCursor is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
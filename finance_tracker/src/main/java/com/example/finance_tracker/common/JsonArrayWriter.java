@@ -0,0 +1,62 @@
+package com.example.finance_tracker.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results as a JSON array while the Mongo cursor is consumed, one element at a time,
+ * so neither the documents nor the serialized payload are ever held in memory as a whole.
+ * Uses the same JsonMapper as the MVC message converters, so the output matches a
+ * ResponseEntity&lt;List&lt;T&gt;&gt; byte for byte.
+ * <p>
+ * That is why this is on Jackson 3 (tools.jackson) while the hand-written bodies elsewhere
+ * (auth errors, rate limiting, CSV/NDJSON export, OAuth replies) use the Jackson 2 ObjectMapper
+ * bean from SecurityConfig: with streaming off (app.lists.streaming-enabled=false) the same list
+ * is serialized by the MVC converter, so anything else here would change the API output.
+ * Both generations read the same com.fasterxml.jackson.annotation annotations on the models.
+ */
+@Component
+public class JsonArrayWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final JsonMapper jsonMapper;
+    private final int batchSize;
+
+    public JsonArrayWriter(MongoTemplate mongoTemplate,
+                           JsonMapper jsonMapper,
+                           @Value("${app.lists.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+    }
+
+    public <T> void write(Query query, Class<T> type, OutputStream out) {
+        query.cursorBatchSize(batchSize);
+        try (Stream<T> rows = mongoTemplate.stream(query, type)) {
+            write(rows.iterator(), out);
+        }
+    }
+
+    <T> void write(Iterator<T> rows, OutputStream out) {
+        try (JsonGenerator generator = jsonMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            int written = 0;
+            while (rows.hasNext()) {
+                generator.writePOJO(rows.next());
+                // Push each batch to the client so memory is bounded by one batch
+                if (++written % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
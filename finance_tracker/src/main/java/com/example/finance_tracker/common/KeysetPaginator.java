@@ -0,0 +1,105 @@
+package com.example.finance_tracker.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination over a user's transactions ordered by (date desc, id desc).
+ * The cursor encodes the last (date, id) returned, and the next page starts strictly after it
+ * using range predicates, so every page costs O(limit) on a (userId, date, _id) index
+ * no matter how deep it is.
+ */
+@Component
+public class KeysetPaginator {
+
+    private final MongoTemplate mongoTemplate;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public KeysetPaginator(MongoTemplate mongoTemplate,
+                           @Value("${app.pagination.default-limit:50}") int defaultLimit,
+                           @Value("${app.pagination.max-limit:500}") int maxLimit) {
+        this.mongoTemplate = mongoTemplate;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public <T> CursorPage<T> page(Class<T> type, String userId, LocalDate startDate, LocalDate endDate,
+                                  String cursor, Integer limit,
+                                  Function<T, LocalDate> dateOf, Function<T, String> idOf) {
+        Query query = query(userId, startDate, endDate, cursor, limit);
+        return toPage(query, mongoTemplate.find(query, type), dateOf, idOf);
+    }
+
+    /**
+     * Builds the page query without running it, for callers that execute it themselves
+     * (the reactive services). Pass the rows to toPage with the same query.
+     */
+    public Query query(String userId, LocalDate startDate, LocalDate endDate, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : defaultLimit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxLimit + ".");
+        }
+
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("userId").is(userId));
+        if (startDate != null) {
+            criteria.add(Criteria.where("date").gte(startDate));
+        }
+        if (endDate != null) {
+            criteria.add(Criteria.where("date").lte(endDate));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Position after = decode(cursor);
+            criteria.add(new Criteria().orOperator(
+                Criteria.where("date").lt(after.date()),
+                new Criteria().andOperator(Criteria.where("date").is(after.date()), Criteria.where("id").lt(after.id()))));
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        return new Query(new Criteria().andOperator(criteria))
+            .with(Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id")))
+            .limit(pageSize + 1);
+    }
+
+    public <T> CursorPage<T> toPage(Query query, List<T> rows,
+                                    Function<T, LocalDate> dateOf, Function<T, String> idOf) {
+        int pageSize = query.getLimit() - 1;
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        T last = items.get(pageSize - 1);
+        return new CursorPage<>(new ArrayList<>(items), encode(dateOf.apply(last), idOf.apply(last)));
+    }
+
+    private record Position(LocalDate date, String id) {}
+
+    private static String encode(LocalDate date, String id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Position(LocalDate.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.finance_tracker.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amounts are stored and summed as long minor units (cents), which keeps totals exact.
+ * Conversion to a decimal happens only at the edges: request parsing, JSON output and exports.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {}
+
+    // Goes through the shortest decimal representation, so 0.1 becomes exactly 10 cents
+    public static long toMinor(double major) {
+        return toMinor(BigDecimal.valueOf(major));
+    }
+
+    public static long toMinor(BigDecimal major) {
+        return major.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long parse(String major) {
+        return toMinor(new BigDecimal(major));
+    }
+
+    // Nearest double to the exact decimal, which Jackson writes back as the same short literal
+    public static double toMajor(long minor) {
+        return (double) minor / MINOR_PER_MAJOR;
+    }
+
+    // Exact decimal for text output (exports), e.g. 1000000000 -> 10000000.00 rather than 1.0E7
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Percentage change from previous to current; growth from zero is 100% (0% when both are zero).
+     */
+    public static double growth(long current, long previous) {
+        if (previous == 0) {
+            return current == 0 ? 0.0 : 100.0;
+        }
+        return (current - previous) * 100.0 / Math.abs(previous);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.finance_tracker.common;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off conversion of amounts written as double major units to int64 minor units.
+ * Documents are selected by BSON type, so the migration is idempotent and safe to run on every start.
+ */
+@Component
+public class MoneyMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(MoneyMigration.class);
+
+    private static final Document DOUBLE_TYPE = new Document("$type", "double");
+
+    private final MongoTemplate mongoTemplate;
+
+    public MoneyMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Converts legacy amounts in expenses and revenues.
+     * Returns true when the monthly rollups still hold double totals and must be rebuilt.
+     */
+    public boolean migrate() {
+        long converted = convert("expenses") + convert("revenues");
+        if (converted > 0) {
+            logger.info("Converted {} transaction amounts to minor units", converted);
+        }
+        return converted > 0
+            || mongoTemplate.getCollection("monthly_rollups").countDocuments(new Document("total", DOUBLE_TYPE)) > 0;
+    }
+
+    private long convert(String collection) {
+        // Server-side pipeline update: round half up via $toDecimal so 0.285 becomes 29 cents, as in Money.toMinor
+        Document toMinor = new Document("$toLong", new Document("$floor", new Document("$add", List.of(
+            new Document("$multiply", List.of(new Document("$toDecimal", "$amount"), 100)),
+            new Document("$toDecimal", "0.5")))));
+        return mongoTemplate.getCollection(collection).updateMany(
+            new Document("amount", DOUBLE_TYPE),
+            List.of(new Document("$set", new Document("amount", toMinor)))
+        ).getModifiedCount();
+    }
+}
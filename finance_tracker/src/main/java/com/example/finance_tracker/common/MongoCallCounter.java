@@ -0,0 +1,90 @@
+package com.example.finance_tracker.common;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the Mongo round trips made on behalf of the current request. The counter lives in a
+ * thread local set by MongoCallCountingFilter; work handed to other threads carries it along
+ * through propagate(). Commands issued outside a request are not counted.
+ */
+public final class MongoCallCounter {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    private MongoCallCounter() {}
+
+    public static AtomicInteger start() {
+        AtomicInteger calls = new AtomicInteger();
+        CURRENT.set(calls);
+        return calls;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static void increment() {
+        AtomicInteger calls = CURRENT.get();
+        if (calls != null) {
+            calls.incrementAndGet();
+        }
+    }
+
+    // -1 when no request is being counted on this thread
+    public static int current() {
+        AtomicInteger calls = CURRENT.get();
+        return calls == null ? -1 : calls.get();
+    }
+
+    /**
+     * Wraps a task so the commands it runs on another thread count towards the caller's request,
+     * and are logged with the caller's MDC (request id).
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger calls = CURRENT.get();
+        if (calls == null) {
+            return task;
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            CURRENT.set(calls);
+            restore(context);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+                restore(previousContext);
+            }
+        };
+    }
+
+    // Runnable form, used as the TaskDecorator of the executor that writes streamed bodies
+    public static Runnable propagate(Runnable task) {
+        if (CURRENT.get() == null) {
+            return task;
+        }
+        Supplier<Void> wrapped = propagate(() -> {
+            task.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+
+    private static void restore(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
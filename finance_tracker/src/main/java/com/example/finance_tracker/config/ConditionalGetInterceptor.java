@@ -0,0 +1,45 @@
+package com.example.finance_tracker.config;
+
+import com.example.finance_tracker.report.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers GETs whose If-None-Match equals the user's current data version with 304,
+ * before the controller runs, so no query or serialization happens.
+ * Otherwise the (weak) ETag is set and the request proceeds as usual.
+ */
+@Component
+@Profile("!reactive")
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+
+    public ConditionalGetInterceptor(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return true;
+        }
+
+        // Private: the same URL returns different data per user. no-cache: always revalidate.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        String etag = dataVersionService.getETag(authentication.getName());
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.finance_tracker.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@Profile("!reactive")
 public class CorsConfig implements WebMvcConfigurer {
 
     @Override
@@ -14,4 +16,4 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Allow all CRUD methods
                 .allowedHeaders("*"); // Allow all headers
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.example.finance_tracker.config;
+
+import com.example.finance_tracker.common.MongoCallCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Gives each request an id (X-Request-Id, also in the MDC as requestId) and counts the Mongo
+ * round trips it makes. The count is recorded per route as
+ * mongodb.request.commands, and requests above the warning threshold are logged, which
+ * surfaces N+1 query loops in load tests without reading code.
+ * For streamed bodies the count is recorded once the async response completes, so queries
+ * run on the task executor while the body is written are included.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoCallCountingFilter extends OncePerRequestFilter {
+
+    // MDC key and header tying slow command logs to their HTTP request
+    public static final String REQUEST_ID = "requestId";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public MongoCallCountingFilter(MeterRegistry meterRegistry,
+                                   @Value("${app.mongo.calls-per-request.warn:10}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // A caller's id is reused when it is safe to log, so traces line up across services
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID, requestId);
+        AtomicInteger calls = MongoCallCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MongoCallCounter.stop();
+            MDC.remove(REQUEST_ID);
+            if (request.isAsyncStarted()) {
+                // The body is still being written on the task executor, which carries the same counter
+                String id = requestId;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, calls.get(), id);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {}
+
+                    @Override
+                    public void onError(AsyncEvent event) {}
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {}
+                });
+            } else {
+                record(request, calls.get(), requestId);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int count, String requestId) {
+        // The route template keeps the tag bounded; unmatched requests share one value
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = route != null ? route.toString() : "UNKNOWN";
+        DistributionSummary.builder("mongodb.request.commands")
+            .description("Mongo round trips per HTTP request, including those made while a streamed body is written")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(count);
+        if (count > warnThreshold) {
+            logger.warn(request.getMethod() + " " + uri + " made " + count + " Mongo round trips (request " + requestId + ")");
+        }
+    }
+}
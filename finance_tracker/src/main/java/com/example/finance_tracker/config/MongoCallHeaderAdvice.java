@@ -0,0 +1,45 @@
+package com.example.finance_tracker.config;
+
+import com.example.finance_tracker.common.MongoCallCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds X-Mongo-Calls with the round trips made so far when app.mongo.calls-header is on.
+ * Headers must be set before the body is written, so this runs just before serialization;
+ * for ordinary JSON responses every query has finished by then. Off by default, since it
+ * tells clients how the server works.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class MongoCallHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean enabled;
+
+    public MongoCallHeaderAdvice(@Value("${app.mongo.calls-header:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int calls = MongoCallCounter.current();
+        if (calls >= 0) {
+            response.getHeaders().set("X-Mongo-Calls", Integer.toString(calls));
+        }
+        return body;
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.finance_tracker.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class MongoConfig extends AbstractMongoClientConfiguration {
@@ -18,6 +31,25 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.port:27017}")
     private int port;
 
+    // Defaults are the driver's own. With virtual threads the pool, not the Tomcat pool, bounds concurrent queries.
+    @Value("${app.mongo.pool.max-size:100}")
+    private int maxPoolSize;
+
+    @Value("${app.mongo.pool.max-wait:2m}")
+    private Duration maxPoolWait;
+
+    @Value("${app.mongo.slow-command-threshold:100ms}")
+    private Duration slowCommandThreshold;
+
+    @Value("${app.mongo.slow-command-sample-rate:0.01}")
+    private double slowCommandSampleRate;
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     protected String getDatabaseName() {
         return databaseName;
@@ -25,8 +57,45 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Override
     public MongoClient mongoClient() {
+        return MongoClients.create(clientSettings());
+    }
+
+    // Reactive profile: a second, non-blocking client on the same server and database
+    @Bean
+    @Profile("reactive")
+    public com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient() {
+        return com.mongodb.reactivestreams.client.MongoClients.create(clientSettings());
+    }
+
+    @Bean
+    @Profile("reactive")
+    public ReactiveMongoTemplate reactiveMongoTemplate(com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient) {
+        return new ReactiveMongoTemplate(reactiveMongoClient, databaseName);
+    }
+
+    // The clients are built here rather than by Boot, so its metrics customizers do not apply:
+    // command timings (mongodb.driver.commands) and pool gauges (mongodb.driver.pool.*) are wired by hand
+    private MongoClientSettings clientSettings() {
         String connectionString = String.format("mongodb://%s:%d/%s", host, port, databaseName);
-        return MongoClients.create(connectionString);
+        return MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(connectionString))
+            .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+            .addCommandListener(new SlowCommandListener(slowCommandThreshold, slowCommandSampleRate))
+            .applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxPoolWait.toMillis(), TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)))
+            .build();
+    }
+
+    // Runs after duplicate users are cleaned up, since the user indexes are unique
+    @Bean
+    @Order(2)
+    public CommandLineRunner ensureMongoIndexes(MongoIndexManager mongoIndexManager) {
+        return args -> {
+            mongoIndexManager.ensureIndexes();
+            mongoIndexManager.verifyQueryPlans();
+        };
     }
 }
 
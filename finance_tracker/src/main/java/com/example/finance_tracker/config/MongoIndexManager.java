@@ -0,0 +1,184 @@
+package com.example.finance_tracker.config;
+
+import com.example.finance_tracker.auth.model.TwoFactorChallenge;
+import com.example.finance_tracker.auth.model.User;
+import com.example.finance_tracker.expense.model.Expense;
+import com.example.finance_tracker.ratelimit.RateLimitBucket;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.revenue.model.Revenue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Declares the indexes every repository query relies on and creates them at boot.
+ * Index creation is idempotent, so an unchanged definition is a no-op on restart.
+ * With app.mongo.plan-check set to warn or fail, each repository query is also explained
+ * and any plan that falls back to a collection scan is reported.
+ */
+@Component
+public class MongoIndexManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private static final String PROBE_USER = "index-check";
+    private static final Date PROBE_FROM = new Date(0);
+    private static final Date PROBE_TO = new Date();
+
+    private final MongoTemplate mongoTemplate;
+    private final String planCheck;
+
+    public MongoIndexManager(MongoTemplate mongoTemplate,
+                             @Value("${app.mongo.plan-check:off}") String planCheck) {
+        this.mongoTemplate = mongoTemplate;
+        this.planCheck = planCheck.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void ensureIndexes() {
+        for (Class<?> type : List.of(Expense.class, Revenue.class)) {
+            // Serves findByUserId, date ranges, OrderByDateDesc and keyset pagination
+            create(type, new Index().on("userId", Sort.Direction.ASC).on("date", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC).named("userId_date_id"));
+        }
+        // Covers the raw-data breakdown: $match on userId and date, $group on category/source summing amount
+        create(Expense.class, new Index().on("userId", Sort.Direction.ASC).on("date", Sort.Direction.ASC)
+            .on("category", Sort.Direction.ASC).on("amount", Sort.Direction.ASC).named("userId_date_category_amount"));
+        create(Revenue.class, new Index().on("userId", Sort.Direction.ASC).on("date", Sort.Direction.ASC)
+            .on("source", Sort.Direction.ASC).on("amount", Sort.Direction.ASC).named("userId_date_source_amount"));
+        // Superseded by the covering indexes above; only cost writes now
+        drop(Expense.class, "userId_category_date");
+        drop(Revenue.class, "userId_source_date");
+
+        // The startup cleanup only merges duplicate emails; duplicate usernames need a person to decide
+        requireNoDuplicates(User.class, "username", "username_unique");
+        create(User.class, new Index().on("username", Sort.Direction.ASC).unique().named("username_unique"));
+        // Sparse so accounts without an email do not collide with each other
+        requireNoDuplicates(User.class, "email", "email_unique");
+        create(User.class, new Index().on("email", Sort.Direction.ASC).unique().sparse().named("email_unique"));
+
+        // TTL: attempt records disappear once their challenge token has expired
+        create(TwoFactorChallenge.class, new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO)
+            .named("expiresAt_ttl"));
+        // Shared rate limit buckets, removed once they have refilled
+        create(RateLimitBucket.class, new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO)
+            .named("expiresAt_ttl"));
+
+        create(MonthlyRollup.class, new Index().on("userId", Sort.Direction.ASC).on("kind", Sort.Direction.ASC)
+            .on("month", Sort.Direction.ASC).named("userId_kind_month"));
+    }
+
+    private void create(Class<?> type, Index index) {
+        try {
+            mongoTemplate.indexOps(type).createIndex(index);
+        } catch (RuntimeException e) {
+            // Typically existing duplicates or a conflicting older definition; queries still work without it
+            logger.error("Could not create index {} on {}: {}", index.getIndexOptions().get("name"),
+                mongoTemplate.getCollectionName(type), e.getMessage());
+        }
+    }
+
+    /**
+     * Refuses to start when a unique index cannot be built, naming the offending values,
+     * instead of leaving the collection without the index and logging a raw duplicate key error.
+     */
+    private void requireNoDuplicates(Class<?> type, String field, String indexName) {
+        List<Document> pipeline = List.of(
+            new Document("$match", new Document(field, new Document("$exists", true))),
+            new Document("$group", new Document("_id", "$" + field).append("count", new Document("$sum", 1))),
+            new Document("$match", new Document("count", new Document("$gt", 1))),
+            new Document("$limit", 10));
+        List<String> duplicates = new ArrayList<>();
+        for (Document duplicate : mongoTemplate.getCollection(mongoTemplate.getCollectionName(type)).aggregate(pipeline)) {
+            duplicates.add(duplicate.get("_id") + " (" + duplicate.get("count") + "x)");
+        }
+        if (!duplicates.isEmpty()) {
+            throw new IllegalStateException("Cannot create unique index " + indexName + " on "
+                + mongoTemplate.getCollectionName(type) + ": duplicate " + field + " values " + duplicates
+                + ". Rename or remove the extra accounts, then restart.");
+        }
+    }
+
+    private void drop(Class<?> type, String name) {
+        if (mongoTemplate.indexOps(type).getIndexInfo().stream().anyMatch(index -> index.getName().equals(name))) {
+            mongoTemplate.indexOps(type).dropIndex(name);
+            logger.info("Dropped index {} on {}", name, mongoTemplate.getCollectionName(type));
+        }
+    }
+
+    /**
+     * Explains every derived repository query and reports the ones planned as a COLLSCAN.
+     * In fail mode the application refuses to start if any are found.
+     */
+    public void verifyQueryPlans() {
+        if (planCheck.equals("off")) {
+            return;
+        }
+        Document userAndRange = new Document("userId", PROBE_USER)
+            .append("date", new Document("$gte", PROBE_FROM).append("$lte", PROBE_TO));
+        Document byDateDesc = new Document("date", -1);
+
+        List<PlannedQuery> queries = new ArrayList<>();
+        for (String collection : List.of("expenses", "revenues")) {
+            queries.add(new PlannedQuery(collection, "findByUserId", new Document("userId", PROBE_USER), null));
+            queries.add(new PlannedQuery(collection, "findByUserIdAndDateBetween", userAndRange, null));
+            queries.add(new PlannedQuery(collection, "findFirstByUserIdOrderByDateDesc",
+                new Document("userId", PROBE_USER), byDateDesc));
+        }
+        queries.add(new PlannedQuery("users", "findByUsername", new Document("username", PROBE_USER), null));
+        queries.add(new PlannedQuery("users", "findByEmail", new Document("email", PROBE_USER), null));
+
+        List<String> scans = new ArrayList<>();
+        for (PlannedQuery query : queries) {
+            if (usesCollectionScan(query)) {
+                scans.add(query.collection() + "." + query.name());
+            }
+        }
+        if (scans.isEmpty()) {
+            logger.info("Query plan check: all {} repository queries use an index", queries.size());
+            return;
+        }
+        String message = "Repository queries planned as COLLSCAN: " + String.join(", ", scans);
+        if (planCheck.equals("fail")) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    private boolean usesCollectionScan(PlannedQuery query) {
+        Document find = new Document("find", query.collection()).append("filter", query.filter());
+        if (query.sort() != null) {
+            find.append("sort", query.sort());
+        }
+        Document explain = mongoTemplate.getDb().runCommand(
+            new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document planner = explain.get("queryPlanner", Document.class);
+        return planner != null && containsStage(planner.get("winningPlan"), "COLLSCAN");
+    }
+
+    // Plan shapes differ between engines (classic vs SBE), so search the whole winning plan tree
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    private record PlannedQuery(String collection, String name, Document filter, Document sort) {}
+}
@@ -0,0 +1,45 @@
+package com.example.finance_tracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The one PasswordEncoder for servlet and reactive nodes. New hashes use app.password.algorithm
+ * with an {id} prefix. Existing hashes in another algorithm or at a lower BCrypt cost keep
+ * working and are rehashed on the next successful login (DaoAuthenticationProvider asks
+ * upgradeEncoding and saves through UserDetailsServiceImpl.updatePassword).
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.password.bcrypt.strength:10}") int bcryptStrength,
+                                           @Value("${app.password.hashing.threads:0}") int threads,
+                                           @Value("${app.password.hashing.queue-capacity:100}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("app.password.algorithm must be one of " + encoders.keySet() + ", got " + algorithm);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before ids were used are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // Default leaves half the cores to the rest of the API
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new TimedPasswordEncoder(delegating, meterRegistry), poolSize, queueCapacity, meterRegistry);
+    }
+}
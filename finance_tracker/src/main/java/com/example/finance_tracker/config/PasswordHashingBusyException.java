@@ -0,0 +1,9 @@
+package com.example.finance_tracker.config;
+
+// Thrown when the password hashing queue is full; GlobalExceptionHandler answers 429
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-in attempts right now. Please try again shortly.");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.finance_tracker.config;
+
+import com.example.finance_tracker.auth.jwt.JwtUtils;
+import com.example.finance_tracker.auth.jwt.JwtWebFilter;
+import com.example.finance_tracker.auth.model.User;
+import com.example.finance_tracker.auth.service.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Security for the reactive profile. Stateless JWT like SecurityConfig, with the token checked
+ * by JwtWebFilter. Only the transaction and report APIs are served here; login, OAuth, import
+ * and export stay on servlet nodes, so everything else apart from the actuator probes and
+ * scraping on the management port is denied.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    private final JwtUtils jwtUtils;
+
+    // Metrics are only served on the management port, which is not exposed publicly; -1 turns scraping off
+    private final int managementPort;
+
+    public ReactiveSecurityConfig(JwtUtils jwtUtils, @Value("${management.server.port:-1}") int managementPort) {
+        this.jwtUtils = jwtUtils;
+        this.managementPort = managementPort;
+    }
+
+    // Same bean SecurityConfig provides, still needed by the shared services
+    @Bean
+    public ObjectMapper objectMapper() {
+        return new ObjectMapper();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(ReactiveMongoTemplate reactiveMongoTemplate) {
+        return username -> reactiveMongoTemplate
+            .findOne(new Query(Criteria.where("username").is(username)), User.class)
+            .map(UserDetailsServiceImpl::toUserDetails);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveUserDetailsService reactiveUserDetailsService) {
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // Stateless
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/expenses/**", "/api/revenues/**", "/api/reports/**").authenticated()
+                        .pathMatchers("/actuator/health").permitAll() // Probes
+                        .matchers(exchange -> onManagementPort(exchange, "/actuator/prometheus")).permitAll() // Scraping
+                        .anyExchange().denyAll() // Served by servlet nodes
+                )
+                // Not a bean, so it only runs inside the security chain
+                .addFilterAt(new JwtWebFilter(jwtUtils, reactiveUserDetailsService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    private Mono<ServerWebExchangeMatcher.MatchResult> onManagementPort(ServerWebExchange exchange, String path) {
+        InetSocketAddress local = exchange.getRequest().getLocalAddress();
+        boolean matches = local != null && local.getPort() == managementPort
+                && path.equals(exchange.getRequest().getPath().value());
+        return matches ? ServerWebExchangeMatcher.MatchResult.match() : ServerWebExchangeMatcher.MatchResult.notMatch();
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:4200")); // Allow frontend
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
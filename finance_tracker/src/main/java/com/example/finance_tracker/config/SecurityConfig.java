@@ -4,9 +4,12 @@ import com.example.finance_tracker.auth.jwt.AuthTokenFilter;
 import com.example.finance_tracker.auth.jwt.JwtUtils; // New Import
 import com.example.finance_tracker.auth.service.UserDetailsServiceImpl;
 import com.example.finance_tracker.auth.jwt.AuthEntryPointJwt;
+import com.example.finance_tracker.ratelimit.RateLimitFilter;
 import com.fasterxml.jackson.databind.ObjectMapper; // Imported ObjectMapper
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -15,7 +18,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -29,12 +31,21 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@Profile("!reactive")
 public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils; // New dependency added
 
+    // Account changes and deletion must see a revoked token right away, not when it expires
+    @Value("${app.auth.revocation-checked-paths:/api/users/**}")
+    private List<String> revocationCheckedPaths;
+
+    // Metrics are only served on the management port, which is not exposed publicly; -1 turns scraping off
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     // Modified Constructor: AuthTokenFilter is NO LONGER injected here
     public SecurityConfig(UserDetailsServiceImpl userDetailsService, AuthEntryPointJwt unauthorizedHandler, JwtUtils jwtUtils) {
         this.userDetailsService = userDetailsService;
@@ -42,15 +53,13 @@ public class SecurityConfig {
         this.jwtUtils = jwtUtils;
     }
 
+    // The PasswordEncoder comes from PasswordEncoderConfig
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehashes outdated hashes after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -63,7 +72,7 @@ public class SecurityConfig {
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         // We pass the dependencies explicitly
-        return new AuthTokenFilter(jwtUtils, userDetailsService); 
+        return new AuthTokenFilter(jwtUtils, userDetailsService, revocationCheckedPaths);
     }
 
     @Bean
@@ -72,7 +81,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider,
+                                                   RateLimitFilter rateLimitFilter) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
@@ -81,11 +91,17 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll() // Public endpoints
                         .requestMatchers("/uploads/**").permitAll() // Allow static resources
                         .requestMatchers("/error").permitAll() // Allow error page
+                        .requestMatchers("/actuator/health").permitAll() // Probes
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll() // Scraping
+                        .requestMatchers("/actuator/**").denyAll() // Never on the public port
                         .anyRequest().authenticated() // All others secured
                 ).oauth2Login(oauth2 -> {});
 
-        http.authenticationProvider(authenticationProvider());
+        http.authenticationProvider(authenticationProvider);
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Throttled requests are refused before any token parsing or password hashing
+        http.addFilterBefore(rateLimitFilter, AuthTokenFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,144 @@
+package com.example.finance_tracker.config;
+
+import com.example.finance_tracker.common.MongoCallCounter;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Counts every command towards the current request (MongoCallCounter) and logs commands slower
+ * than the threshold with the request id and the shape of their filter, sort and pipeline.
+ * Values are replaced with "?", so no user data reaches the log; field paths such as
+ * "$category" are kept. The command document is only readable while commandStarted runs, and
+ * shaping it costs more than most commands take, so commandStarted keeps just the command name
+ * and collection. The shape is taken for a sampled fraction of commands and for every command
+ * on a name and collection that has been slow before.
+ */
+public class SlowCommandListener implements CommandListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowCommandListener.class);
+
+    // Only these parts describe the query; reading documents or bulk payloads would cost too much
+    private static final List<String> SHAPED_FIELDS = List.of("filter", "query", "sort", "pipeline", "updates", "deletes");
+    private static final Pattern FIELD_PATH = Pattern.compile("\\$[A-Za-z_][\\w.]*");
+    private static final BsonString REDACTED = new BsonString("?");
+    // Name and collection pairs are few; the bound only guards against unexpected growth
+    private static final int MAX_SLOW_KEYS = 1000;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    // Running commands by the driver's request id, which is unique per JVM
+    private final Map<Integer, Started> running = new ConcurrentHashMap<>();
+    // "find expenses" style keys that have been slow, whose later commands are always shaped
+    private final Set<String> slowKeys = ConcurrentHashMap.newKeySet();
+
+    private record Started(String key, String shape, String httpRequestId) {}
+
+    public SlowCommandListener(Duration threshold, double sampleRate) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        MongoCallCounter.increment();
+        if (thresholdNanos > 0) {
+            String commandName = event.getCommandName();
+            BsonDocument command = event.getCommand();
+            BsonValue collection = command.get(commandName);
+            String key = collection != null && collection.isString()
+                ? commandName + " " + collection.asString().getValue() : commandName;
+            String shape = slowKeys.contains(key) || ThreadLocalRandom.current().nextDouble() < sampleRate
+                ? shape(commandName, command) : null;
+            running.put(event.getRequestId(), new Started(key, shape, MDC.get(MongoCallCountingFilter.REQUEST_ID)));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), "ok");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), "failed");
+    }
+
+    private void finished(int requestId, long elapsedNanos, String outcome) {
+        Started started = running.remove(requestId);
+        if (started == null || elapsedNanos < thresholdNanos) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        String httpRequestId = started.httpRequestId() != null ? started.httpRequestId() : "-";
+        if (started.shape() != null) {
+            logger.warn("Slow Mongo command ({} ms, {}, request {}): {}", millis, outcome, httpRequestId, started.shape());
+        } else {
+            logger.warn("Slow Mongo command ({} ms, {}, request {}): {} (shape is logged for its next slow run)",
+                millis, outcome, httpRequestId, started.key());
+        }
+        if (slowKeys.size() < MAX_SLOW_KEYS) {
+            slowKeys.add(started.key());
+        }
+    }
+
+    // e.g. {"find": "expenses", "filter": {"userId": "?", "date": {"$gte": "?"}}, "sort": {"date": "?"}}
+    static String shape(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument(commandName, command.get(commandName, REDACTED));
+        for (String field : SHAPED_FIELDS) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                shape.put(field, field.equals("pipeline") ? redactStages(value.asArray()) : redact(value));
+            }
+        }
+        return shape.toJson();
+    }
+
+    // Every stage is part of the shape
+    private static BsonArray redactStages(BsonArray pipeline) {
+        BsonArray stages = new BsonArray();
+        pipeline.forEach(stage -> stages.add(redact(stage)));
+        return stages;
+    }
+
+    // Arrays are reduced to their first element and a count, so $in lists and bulk writes stay short
+    private static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> redacted.put(key, redact(nested)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            BsonArray redacted = new BsonArray();
+            if (!array.isEmpty()) {
+                redacted.add(redact(array.get(0)));
+            }
+            if (array.size() > 1) {
+                redacted.add(new BsonString("... " + (array.size() - 1) + " more"));
+            }
+            return redacted;
+        }
+        if (value.isString() && FIELD_PATH.matcher(value.asString().getValue()).matches()) {
+            return value;
+        }
+        return REDACTED;
+    }
+}
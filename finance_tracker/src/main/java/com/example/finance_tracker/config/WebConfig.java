@@ -1,7 +1,12 @@
 package com.example.finance_tracker.config;
 
+import com.example.finance_tracker.common.MongoCallCounter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,11 +14,33 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
 
     @Value("${app.upload.dir}")
     private String uploadDir;
 
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    public WebConfig(ConditionalGetInterceptor conditionalGetInterceptor) {
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+    }
+
+    // ETag / If-None-Match on the endpoints whose payload only changes when the user writes
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/api/reports/**", "/api/expenses", "/api/expenses/*", "/api/revenues", "/api/revenues/*")
+                .excludePathPatterns("/api/reports/cache-stats");
+    }
+
+    // Boot applies this to the application task executor, which writes streamed list and export
+    // bodies; their queries then count towards the request that started them
+    @Bean
+    public TaskDecorator mongoCallCountingTaskDecorator() {
+        return MongoCallCounter::propagate;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         exposeDirectory(uploadDir, registry);
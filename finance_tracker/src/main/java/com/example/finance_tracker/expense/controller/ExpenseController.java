@@ -2,6 +2,9 @@ package com.example.finance_tracker.expense.controller;
 
 import com.example.finance_tracker.expense.model.Expense;
 import com.example.finance_tracker.expense.service.ExpenseService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -13,19 +16,40 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/expenses")
 @PreAuthorize("hasRole('USER')") // Apply base security to all methods in this controller
+@Profile("!reactive")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final boolean legacyListEnabled;
+    private final boolean streamingEnabled;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService,
+                             @Value("${app.pagination.legacy-list-enabled:true}") boolean legacyListEnabled,
+                             @Value("${app.lists.streaming-enabled:true}") boolean streamingEnabled) {
         this.expenseService = expenseService;
+        this.legacyListEnabled = legacyListEnabled;
+        this.streamingEnabled = streamingEnabled;
     }
 
+    // Paginated when cursor or limit is given; otherwise the legacy full list unless disabled
     @GetMapping
-    public ResponseEntity<List<Expense>> getExpenses(
+    public ResponseEntity<?> getExpenses(
         @RequestParam(required = false) LocalDate startDate, 
-        @RequestParam(required = false) LocalDate endDate
+        @RequestParam(required = false) LocalDate endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
     ) {
+        if (cursor != null || limit != null || !legacyListEnabled) {
+            return ResponseEntity.ok(expenseService.getExpensesPage(startDate, endDate, cursor, limit));
+        }
+
+        // The full list can be large: stream it instead of building List<Expense> and its JSON in memory
+        if (streamingEnabled) {
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(expenseService.streamExpenses(startDate, endDate));
+        }
+
         List<Expense> expenses;
         
         if (startDate != null && endDate != null) {
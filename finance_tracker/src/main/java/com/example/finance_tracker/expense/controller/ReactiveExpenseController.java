@@ -0,0 +1,64 @@
+package com.example.finance_tracker.expense.controller;
+
+import com.example.finance_tracker.expense.model.Expense;
+import com.example.finance_tracker.expense.service.ReactiveExpenseService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+
+// Non-blocking ExpenseController for the reactive profile, same paths and payloads
+@RestController
+@RequestMapping("/api/expenses")
+@PreAuthorize("hasRole('USER')") // Apply base security to all methods in this controller
+@Profile("reactive")
+public class ReactiveExpenseController {
+
+    private final ReactiveExpenseService expenseService;
+    private final boolean legacyListEnabled;
+
+    public ReactiveExpenseController(ReactiveExpenseService expenseService,
+                                     @Value("${app.pagination.legacy-list-enabled:true}") boolean legacyListEnabled) {
+        this.expenseService = expenseService;
+        this.legacyListEnabled = legacyListEnabled;
+    }
+
+    // Paginated when cursor or limit is given; otherwise the full list, streamed as a JSON array.
+    // Declared as Object so WebFlux picks the adapter from the actual Mono or Flux returned.
+    @GetMapping
+    public Object getExpenses(
+        @RequestParam(required = false) LocalDate startDate,
+        @RequestParam(required = false) LocalDate endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (cursor != null || limit != null || !legacyListEnabled) {
+            return expenseService.getExpensesPage(startDate, endDate, cursor, limit);
+        }
+        return expenseService.getExpenses(startDate, endDate);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Expense> getExpense(@PathVariable String id) {
+        return expenseService.getExpense(id);
+    }
+
+    @PostMapping
+    public Mono<Expense> createExpense(@Valid @RequestBody Expense expense) {
+        return expenseService.saveExpense(expense);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Expense> updateExpense(@PathVariable String id, @Valid @RequestBody Expense expense) {
+        return expenseService.updateExpense(id, expense);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteExpense(@PathVariable String id) {
+        return expenseService.deleteExpense(id).thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.finance_tracker.expense.model;
 
+import com.example.finance_tracker.common.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.*;
@@ -12,9 +14,9 @@ public class Expense {
     private String id;
     private String userId; 
 
-    @NotNull(message = "Amount is required.") 
-    @DecimalMin(value = "0.01", message = "Amount must be greater than zero.")
-    private double amount;
+    // Stored as minor units (cents) so sums are exact; exposed to JSON as a decimal "amount"
+    @Min(value = 1, message = "Amount must be greater than zero.")
+    private long amount;
 
     @NotBlank(message = "Category is required.")
     @Size(max = 50, message = "Category cannot exceed 50 characters.")
@@ -38,8 +40,13 @@ public class Expense {
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
-    public double getAmount() { return amount; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public double getAmount() { return Money.toMajor(amount); }
+    public void setAmount(double amount) { this.amount = Money.toMinor(amount); }
+
+    @JsonIgnore
+    public long getAmountMinor() { return amount; }
+    @JsonIgnore
+    public void setAmountMinor(long amountMinor) { this.amount = amountMinor; }
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
@@ -49,4 +56,4 @@ public class Expense {
 
     public LocalDate getDate() { return date; }
     public void setDate(LocalDate date) { this.date = date; }
-}
\ No newline at end of file
+}
\ No newline at end of file
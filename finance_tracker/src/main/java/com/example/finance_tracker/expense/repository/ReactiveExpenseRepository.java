@@ -0,0 +1,19 @@
+package com.example.finance_tracker.expense.repository;
+
+import com.example.finance_tracker.expense.model.Expense;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import java.time.LocalDate;
+
+// Non-blocking counterpart of ExpenseRepository, used by the reactive profile
+@Profile("reactive")
+public interface ReactiveExpenseRepository extends ReactiveMongoRepository<Expense, String> {
+
+    Flux<Expense> findByUserId(String userId);
+
+    //Find expenses for a user between two dates (Inclusive)
+    @Query("{ 'userId' : ?0, 'date' : { $gte: ?1, $lte: ?2 } }")
+    Flux<Expense> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+}
@@ -1,11 +1,19 @@
 package com.example.finance_tracker.expense.service;
 
+import com.example.finance_tracker.common.CursorPage;
+import com.example.finance_tracker.common.JsonArrayWriter;
+import com.example.finance_tracker.common.KeysetPaginator;
 import com.example.finance_tracker.expense.model.Expense;
 import com.example.finance_tracker.expense.repository.ExpenseRepository;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.service.ReportUpdateService;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 
 import java.util.List;
@@ -14,9 +22,16 @@ import java.util.List;
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
+    private final ReportUpdateService reportUpdateService;
+    private final KeysetPaginator keysetPaginator;
+    private final JsonArrayWriter jsonArrayWriter;
 
-    public ExpenseService(ExpenseRepository expenseRepository) {
+    public ExpenseService(ExpenseRepository expenseRepository, ReportUpdateService reportUpdateService,
+                          KeysetPaginator keysetPaginator, JsonArrayWriter jsonArrayWriter) {
         this.expenseRepository = expenseRepository;
+        this.reportUpdateService = reportUpdateService;
+        this.keysetPaginator = keysetPaginator;
+        this.jsonArrayWriter = jsonArrayWriter;
     }
 
     private String getCurrentUserId() {
@@ -26,7 +41,9 @@ public class ExpenseService {
     public Expense saveExpense(Expense expense) {
         String userId = getCurrentUserId();
         expense.setUserId(userId); 
-        return expenseRepository.save(expense);
+        Expense savedExpense = expenseRepository.save(expense);
+        reportUpdateService.transactionAdded(userId, MonthlyRollup.EXPENSE, savedExpense.getCategory(), savedExpense.getDate(), savedExpense.getAmountMinor());
+        return savedExpense;
     }
 
     public List<Expense> getExpenses() {
@@ -34,6 +51,26 @@ public class ExpenseService {
         return expenseRepository.findByUserId(userId);
     }
 
+    /**
+     * Same result as getExpenses/getExpensesBetweenDates, written as a JSON array straight from the cursor.
+     * The user is resolved here on the request thread; the body is written on an async thread.
+     */
+    public StreamingResponseBody streamExpenses(LocalDate startDate, LocalDate endDate) {
+        Criteria criteria = Criteria.where("userId").is(getCurrentUserId());
+        if (startDate != null && endDate != null) {
+            criteria = criteria.and("date").gte(startDate).lte(endDate);
+        }
+        Query query = new Query(criteria);
+        return out -> jsonArrayWriter.write(query, Expense.class, out);
+    }
+
+    // Keyset-paginated list ordered by date desc, id desc
+    public CursorPage<Expense> getExpensesPage(LocalDate startDate, LocalDate endDate, String cursor, Integer limit) {
+        String userId = getCurrentUserId();
+        return keysetPaginator.page(Expense.class, userId, startDate, endDate, cursor, limit,
+            Expense::getDate, Expense::getId);
+    }
+
     public Expense getExpense(String id) {
         Expense expense = expenseRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Expense not found"));
@@ -58,12 +95,21 @@ public class ExpenseService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied. Expense does not belong to user.");
         }
 
-        existingExpense.setAmount(updatedExpense.getAmount());
+        // Remember the old values so report state can be moved
+        String oldCategory = existingExpense.getCategory();
+        LocalDate oldDate = existingExpense.getDate();
+        long oldAmount = existingExpense.getAmountMinor();
+
+        existingExpense.setAmountMinor(updatedExpense.getAmountMinor());
         existingExpense.setCategory(updatedExpense.getCategory());
         existingExpense.setDescription(updatedExpense.getDescription());
         existingExpense.setDate(updatedExpense.getDate());
         
-        return expenseRepository.save(existingExpense);
+        Expense savedExpense = expenseRepository.save(existingExpense);
+        reportUpdateService.transactionUpdated(savedExpense.getUserId(), MonthlyRollup.EXPENSE,
+            oldCategory, oldDate, oldAmount,
+            savedExpense.getCategory(), savedExpense.getDate(), savedExpense.getAmountMinor());
+        return savedExpense;
     }
 
     public void deleteExpense(String id) {
@@ -75,5 +121,7 @@ public class ExpenseService {
         }
 
         expenseRepository.deleteById(id);
+        reportUpdateService.transactionRemoved(existingExpense.getUserId(), MonthlyRollup.EXPENSE,
+            existingExpense.getCategory(), existingExpense.getDate(), existingExpense.getAmountMinor());
     }
 }
@@ -0,0 +1,115 @@
+package com.example.finance_tracker.expense.service;
+
+import com.example.finance_tracker.common.CursorPage;
+import com.example.finance_tracker.common.KeysetPaginator;
+import com.example.finance_tracker.expense.model.Expense;
+import com.example.finance_tracker.expense.repository.ReactiveExpenseRepository;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.service.ReportUpdateService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking ExpenseService for the reactive profile. Reads and writes go through the
+ * reactive driver; the report update hook is still blocking, so it runs on boundedElastic
+ * and the response waits for it exactly like the servlet path does.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveExpenseService {
+
+    private final ReactiveExpenseRepository expenseRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReportUpdateService reportUpdateService;
+    private final KeysetPaginator keysetPaginator;
+
+    public ReactiveExpenseService(ReactiveExpenseRepository expenseRepository, ReactiveMongoTemplate reactiveMongoTemplate,
+                                  ReportUpdateService reportUpdateService, KeysetPaginator keysetPaginator) {
+        this.expenseRepository = expenseRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.reportUpdateService = reportUpdateService;
+        this.keysetPaginator = keysetPaginator;
+    }
+
+    private Mono<String> getCurrentUserId() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(context -> context.getAuthentication().getName());
+    }
+
+    public Mono<Expense> saveExpense(Expense expense) {
+        return getCurrentUserId().flatMap(userId -> {
+            expense.setUserId(userId);
+            return expenseRepository.save(expense);
+        }).flatMap(savedExpense -> blocking(() -> reportUpdateService.transactionAdded(savedExpense.getUserId(),
+            MonthlyRollup.EXPENSE, savedExpense.getCategory(), savedExpense.getDate(), savedExpense.getAmountMinor()))
+            .thenReturn(savedExpense));
+    }
+
+    // Emitted as the cursor is read, so the full list is never held in memory
+    public Flux<Expense> getExpenses(LocalDate startDate, LocalDate endDate) {
+        return getCurrentUserId().flatMapMany(userId -> startDate != null && endDate != null
+            ? expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate)
+            : expenseRepository.findByUserId(userId));
+    }
+
+    // Keyset-paginated list ordered by date desc, id desc
+    public Mono<CursorPage<Expense>> getExpensesPage(LocalDate startDate, LocalDate endDate, String cursor, Integer limit) {
+        return getCurrentUserId().flatMap(userId -> {
+            Query query = keysetPaginator.query(userId, startDate, endDate, cursor, limit);
+            return reactiveMongoTemplate.find(query, Expense.class).collectList()
+                .map(rows -> keysetPaginator.toPage(query, rows, Expense::getDate, Expense::getId));
+        });
+    }
+
+    public Mono<Expense> getExpense(String id) {
+        return findOwned(id);
+    }
+
+    public Mono<Expense> updateExpense(String id, Expense updatedExpense) {
+        return findOwned(id).flatMap(existingExpense -> {
+            // Remember the old values so report state can be moved
+            String oldCategory = existingExpense.getCategory();
+            LocalDate oldDate = existingExpense.getDate();
+            long oldAmount = existingExpense.getAmountMinor();
+
+            existingExpense.setAmountMinor(updatedExpense.getAmountMinor());
+            existingExpense.setCategory(updatedExpense.getCategory());
+            existingExpense.setDescription(updatedExpense.getDescription());
+            existingExpense.setDate(updatedExpense.getDate());
+
+            return expenseRepository.save(existingExpense)
+                .flatMap(savedExpense -> blocking(() -> reportUpdateService.transactionUpdated(savedExpense.getUserId(), MonthlyRollup.EXPENSE,
+                    oldCategory, oldDate, oldAmount,
+                    savedExpense.getCategory(), savedExpense.getDate(), savedExpense.getAmountMinor()))
+                    .thenReturn(savedExpense));
+        });
+    }
+
+    public Mono<Void> deleteExpense(String id) {
+        return findOwned(id).flatMap(existingExpense -> expenseRepository.deleteById(id)
+            .then(blocking(() -> reportUpdateService.transactionRemoved(existingExpense.getUserId(), MonthlyRollup.EXPENSE,
+                existingExpense.getCategory(), existingExpense.getDate(), existingExpense.getAmountMinor()))));
+    }
+
+    private Mono<Expense> findOwned(String id) {
+        return expenseRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Expense not found")))
+            .zipWith(getCurrentUserId())
+            .flatMap(owned -> owned.getT1().getUserId().equals(owned.getT2())
+                ? Mono.just(owned.getT1())
+                : Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied. Expense does not belong to user.")));
+    }
+
+    private static Mono<Void> blocking(Runnable task) {
+        return Mono.fromRunnable(task).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+}
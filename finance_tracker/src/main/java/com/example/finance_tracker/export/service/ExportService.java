@@ -0,0 +1,194 @@
+package com.example.finance_tracker.export.service;
+
+import com.example.finance_tracker.common.Money;
+import com.example.finance_tracker.expense.model.Expense;
+import com.example.finance_tracker.revenue.model.Revenue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's transactions as CSV or NDJSON straight from a Mongo cursor.
+ * Documents are fetched in fixed-size batches and written as they arrive; the cursor only asks
+ * for the next batch once the previous one has been written, so a slow client throttles the
+ * export instead of growing the heap.
+ */
+@Service
+public class ExportService {
+
+    public static final String EXPENSE = "expense";
+    public static final String REVENUE = "revenue";
+
+    private static final String CSV_HEADER = "kind,id,date,amount,category,source,description";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ExportService(MongoTemplate mongoTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${app.export.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid format. Use 'csv' or 'ndjson'.");
+            }
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    public static Set<String> parseKinds(String kinds) {
+        if (kinds == null || kinds.isBlank()) {
+            return Set.of(EXPENSE, REVENUE);
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String kind : kinds.split(",")) {
+            String value = kind.trim().toLowerCase(Locale.ROOT);
+            if (!EXPENSE.equals(value) && !REVENUE.equals(value)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid kind '" + kind + "'. Use 'expense' and/or 'revenue'.");
+            }
+            parsed.add(value);
+        }
+        return parsed;
+    }
+
+    /**
+     * Writes the user's expenses and then revenues, each ordered by date, to the output stream.
+     * The userId is passed in because this runs on an async thread, not the request thread.
+     */
+    public void export(String userId, Format format, LocalDate from, LocalDate to, Set<String> kinds, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        if (kinds.contains(EXPENSE)) {
+            try (Stream<Expense> expenses = mongoTemplate.stream(rangeQuery(userId, from, to), Expense.class)) {
+                writeRows(writer, format, expenses.map(expense -> row(EXPENSE, expense.getId(), expense.getDate(),
+                    expense.getAmountMinor(), expense.getCategory(), null, expense.getDescription())));
+            }
+        }
+        if (kinds.contains(REVENUE)) {
+            try (Stream<Revenue> revenues = mongoTemplate.stream(rangeQuery(userId, from, to), Revenue.class)) {
+                writeRows(writer, format, revenues.map(revenue -> row(REVENUE, revenue.getId(), revenue.getDate(),
+                    revenue.getAmountMinor(), null, revenue.getSource(), null)));
+            }
+        }
+        writer.flush();
+    }
+
+    private Query rangeQuery(String userId, LocalDate from, LocalDate to) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (from != null && to != null) {
+            criteria = criteria.and("date").gte(from).lte(to);
+        } else if (from != null) {
+            criteria = criteria.and("date").gte(from);
+        } else if (to != null) {
+            criteria = criteria.and("date").lte(to);
+        }
+        return new Query(criteria)
+            .with(Sort.by(Sort.Order.asc("date"), Sort.Order.asc("_id")))
+            .cursorBatchSize(batchSize);
+    }
+
+    private void writeRows(Writer writer, Format format, Stream<Map<String, Object>> rows) {
+        int[] written = {0};
+        rows.forEach(row -> {
+            try {
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                // Push each batch to the client so memory is bounded by one batch
+                if (++written[0] % batchSize == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Map<String, Object> row(String kind, String id, LocalDate date, long amountMinor,
+                                           String category, String source, String description) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("kind", kind);
+        row.put("id", id);
+        row.put("date", date != null ? date.toString() : null);
+        // Exact decimal from the stored cents; a double would print 1.0E7 or binary noise
+        row.put("amount", Money.toDecimal(amountMinor));
+        row.put("category", category);
+        row.put("source", source);
+        row.put("description", description);
+        return row;
+    }
+
+    private static void writeCsvRow(Writer writer, Map<String, Object> row) throws IOException {
+        boolean first = true;
+        for (Object value : row.values()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+            } else if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.finance_tracker.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process buckets. Each bucket is one AtomicLong holding the time its next token is due
+ * (the GCRA form of a token bucket), updated with compareAndSet, so callers never block each other.
+ * A bucket untouched for the longest configured period is full again and is evicted; past
+ * maxKeys the least recently used buckets go first.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    public LocalRateLimiter(long maxKeys, Duration longestPeriod) {
+        this(maxKeys, longestPeriod, System::nanoTime);
+    }
+
+    // Tests drive the clock
+    LocalRateLimiter(long maxKeys, Duration longestPeriod, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(longestPeriod)
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String key, RateLimit limit) {
+        long now = nanoTime.getAsLong();
+        long interval = limit.interval().toNanos();
+        long burst = limit.period().toNanos();
+        AtomicLong nextDue = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = nextDue.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > burst) {
+                return Duration.ofNanos(next - burst - now);
+            }
+            if (nextDue.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.finance_tracker.ratelimit;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Buckets shared by every node, one document per key in rate_limits. Same algorithm as
+ * LocalRateLimiter, with the compare-and-set done as a conditional update on nextDue.
+ * Relies on node clocks being roughly in sync. Costs two round trips per request.
+ */
+public class MongoRateLimiter implements RateLimiter {
+
+    // A key contended this hard is being hammered; refusing is the safe answer
+    private static final int MAX_TRIES = 3;
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRateLimiter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, RateLimit limit) {
+        long interval = Math.max(1, limit.interval().toMillis());
+        long burst = limit.period().toMillis();
+        for (int i = 0; i < MAX_TRIES; i++) {
+            long now = System.currentTimeMillis();
+            RateLimitBucket bucket = mongoTemplate.findById(key, RateLimitBucket.class);
+            long current = bucket != null ? bucket.getNextDue() : now;
+            long next = Math.max(current, now) + interval;
+            if (next - now > burst) {
+                return Duration.ofMillis(next - burst - now);
+            }
+            // Once nextDue has passed the bucket is full again and the document can go
+            Date expiresAt = new Date(next);
+            if (bucket == null) {
+                try {
+                    mongoTemplate.insert(new RateLimitBucket(key, next, expiresAt));
+                    return Duration.ZERO;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+            Query unchanged = new Query(Criteria.where("_id").is(key).and("nextDue").is(current));
+            Update take = new Update().set("nextDue", next).set("expiresAt", expiresAt);
+            if (mongoTemplate.updateFirst(unchanged, take, RateLimitBucket.class).getModifiedCount() == 1) {
+                return Duration.ZERO;
+            }
+        }
+        return limit.interval();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.finance_tracker.ratelimit;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A token bucket holding up to capacity requests and refilling completely over period,
+ * written in properties as capacity/period, e.g. 5/1m. "off" disables the limit.
+ */
+public record RateLimit(int capacity, Duration period) {
+
+    private static final Pattern FORMAT = Pattern.compile("(\\d+)\\s*/\\s*(\\d+)(ms|s|m|h|d)");
+
+    public RateLimit {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+    }
+
+    // Time one request takes to refill
+    public Duration interval() {
+        return period.dividedBy(capacity);
+    }
+
+    // Null when the limit is switched off
+    public static RateLimit parse(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("off")) {
+            return null;
+        }
+        Matcher matcher = FORMAT.matcher(trimmed);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Rate limit must look like 5/1m or be off, got " + value);
+        }
+        long amount = Long.parseLong(matcher.group(2));
+        Duration period = switch (matcher.group(3)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+        return new RateLimit(Integer.parseInt(matcher.group(1)), period);
+    }
+}
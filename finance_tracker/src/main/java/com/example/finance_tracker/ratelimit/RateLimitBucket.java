@@ -0,0 +1,31 @@
+package com.example.finance_tracker.ratelimit;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.Date;
+
+// Shared bucket for MongoRateLimiter; removed by a TTL index once it has refilled
+@Document(collection = "rate_limits")
+public class RateLimitBucket {
+    @Id
+    private String id;
+    private long nextDue;
+    private Date expiresAt;
+
+    public RateLimitBucket() {}
+
+    public RateLimitBucket(String id, long nextDue, Date expiresAt) {
+        this.id = id;
+        this.nextDue = nextDue;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public long getNextDue() { return nextDue; }
+    public void setNextDue(long nextDue) { this.nextDue = nextDue; }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+}
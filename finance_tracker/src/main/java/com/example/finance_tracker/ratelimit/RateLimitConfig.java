@@ -0,0 +1,101 @@
+package com.example.finance_tracker.ratelimit;
+
+import com.example.finance_tracker.auth.jwt.JwtUtils;
+import com.example.finance_tracker.ratelimit.RateLimitRule.Key;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits for the auth endpoints, each overridable as app.rate-limit.{endpoint}.per-{key}
+ * (e.g. app.rate-limit.login.per-user=5/1m, or off). app.rate-limit.backend picks where the
+ * buckets live: local (per node) or mongo (shared by all nodes).
+ */
+@Configuration
+@Profile("!reactive")
+public class RateLimitConfig {
+
+    private final Environment environment;
+
+    public RateLimitConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(@Value("${app.rate-limit.backend:local}") String backend,
+                                   @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+                                   MongoTemplate mongoTemplate) {
+        return switch (backend) {
+            case "local" -> new LocalRateLimiter(maxKeys, longestPeriod(rules()));
+            case "mongo" -> new MongoRateLimiter(mongoTemplate);
+            default -> throw new IllegalStateException("app.rate-limit.backend must be local or mongo, got " + backend);
+        };
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, JwtUtils jwtUtils, ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rules(), rateLimiter, jwtUtils, objectMapper, meterRegistry);
+    }
+
+    // SecurityConfig places the filter in the security chain; keep Boot from also adding it to the servlet chain
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    private Map<String, List<RateLimitRule>> rules() {
+        Map<String, List<RateLimitRule>> rules = new LinkedHashMap<>();
+        if (!environment.getProperty("app.rate-limit.enabled", Boolean.class, true)) {
+            return rules;
+        }
+        // IP limits are looser than per-account ones, since many users can share one address
+        endpoint(rules, "login", "20/1m", Key.USERNAME, "5/1m");
+        endpoint(rules, "verify-2fa", "20/1m", Key.PASSWORD_CHALLENGE, "10/1m");
+        endpoint(rules, "verify-2fa-oauth", "20/1m", Key.OAUTH_CHALLENGE, "10/1m");
+        endpoint(rules, "send-2fa-email-otp", "10/10m", Key.USERNAME, "3/10m");
+        endpoint(rules, "forgot-password", "10/1h", Key.EMAIL, "3/1h");
+        endpoint(rules, "reset-password", "20/1h", Key.EMAIL, "5/15m");
+        return rules;
+    }
+
+    private void endpoint(Map<String, List<RateLimitRule>> rules, String endpoint,
+                          String ipDefault, Key accountKey, String accountDefault) {
+        List<RateLimitRule> endpointRules = new ArrayList<>();
+        add(endpointRules, endpoint, Key.IP, "per-ip", ipDefault);
+        add(endpointRules, endpoint, accountKey, accountKey == Key.EMAIL ? "per-email" : "per-user", accountDefault);
+        if (!endpointRules.isEmpty()) {
+            rules.put("/api/auth/" + endpoint, endpointRules);
+        }
+    }
+
+    private void add(List<RateLimitRule> endpointRules, String endpoint, Key key, String suffix, String defaultLimit) {
+        RateLimit limit = RateLimit.parse(
+                environment.getProperty("app.rate-limit." + endpoint + "." + suffix, defaultLimit));
+        if (limit != null) {
+            endpointRules.add(new RateLimitRule(endpoint, key, limit));
+        }
+    }
+
+    private static Duration longestPeriod(Map<String, List<RateLimitRule>> rules) {
+        return rules.values().stream()
+                .flatMap(List::stream)
+                .map(rule -> rule.limit().period())
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+    }
+}
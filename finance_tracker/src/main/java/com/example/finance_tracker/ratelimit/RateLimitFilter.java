@@ -0,0 +1,223 @@
+package com.example.finance_tracker.ratelimit;
+
+import com.example.finance_tracker.auth.jwt.JwtUtils;
+import com.example.finance_tracker.auth.service.TwoFactorChallengeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles the unauthenticated auth endpoints that cost a password hash, an email or a
+ * 2FA guess. Each POST takes a token from every bucket configured for its path (per client
+ * IP, and per username or email from the body) and is answered 429 with Retry-After once
+ * any of them is empty. IP buckets are checked before the body is read, and bodies over
+ * MAX_BODY_BYTES are refused with 413. Runs ahead of AuthTokenFilter.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Auth bodies are a few hundred bytes; anything bigger is refused before it reaches the heap
+    static final int MAX_BODY_BYTES = 4096;
+
+    private final Map<String, List<RateLimitRule>> rulesByPath;
+    private final RateLimiter rateLimiter;
+    private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(Map<String, List<RateLimitRule>> rulesByPath, RateLimiter rateLimiter, JwtUtils jwtUtils,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rulesByPath = rulesByPath;
+        this.rateLimiter = rateLimiter;
+        this.jwtUtils = jwtUtils;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !rulesByPath.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        List<RateLimitRule> rules = rulesByPath.get(request.getServletPath());
+
+        // IP buckets first, so a client over its limit never gets its body read
+        for (RateLimitRule rule : rules) {
+            if (rule.key() == RateLimitRule.Key.IP && !acquire(rule, request.getRemoteAddr(), response)) {
+                return;
+            }
+        }
+
+        // The body is read here for the keys, so the controller gets a replayable copy
+        if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+            tooLarge(response);
+            return;
+        }
+        byte[] bytes = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            // Chunked bodies carry no Content-Length
+            tooLarge(response);
+            return;
+        }
+        JsonNode body = readBody(bytes);
+
+        for (RateLimitRule rule : rules) {
+            if (rule.key() == RateLimitRule.Key.IP) {
+                continue;
+            }
+            String subject = subject(rule.key(), body, request);
+            if (subject != null && !acquire(rule, subject, response)) {
+                return;
+            }
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, bytes), response);
+    }
+
+    // False when the bucket is empty, after answering 429
+    private boolean acquire(RateLimitRule rule, String subject, HttpServletResponse response) throws IOException {
+        String keyName = rule.key().name().toLowerCase(Locale.ROOT);
+        Duration wait = rateLimiter.tryAcquire(rule.endpoint() + ":" + keyName + ":" + subject, rule.limit());
+        if (wait.isZero()) {
+            return true;
+        }
+        meterRegistry.counter("ratelimit.rejected", "endpoint", rule.endpoint(), "key", keyName).increment();
+        reject(response, wait);
+        return false;
+    }
+
+    private String subject(RateLimitRule.Key key, JsonNode body, HttpServletRequest request) {
+        return switch (key) {
+            case IP -> throw new IllegalArgumentException("IP buckets are taken before the body is read");
+            case USERNAME -> perClient(body.path("username").textValue(), request);
+            case EMAIL -> {
+                String email = body.path("email").textValue();
+                yield perClient(email != null ? email.trim().toLowerCase(Locale.ROOT) : null, request);
+            }
+            case PASSWORD_CHALLENGE -> challengeSubject(body, TwoFactorChallengeService.PASSWORD_LOGIN);
+            case OAUTH_CHALLENGE -> challengeSubject(body, TwoFactorChallengeService.OAUTH_LOGIN);
+        };
+    }
+
+    // Anyone can submit any username or email, so those buckets are per (value, client IP):
+    // one source cannot drain another user's bucket and lock them out
+    private static String perClient(String value, HttpServletRequest request) {
+        return value != null ? value + "|" + request.getRemoteAddr() : null;
+    }
+
+    // Only a verified token counts, so a forged one cannot drain someone else's bucket
+    private String challengeSubject(JsonNode body, String method) {
+        String token = body.path("challengeToken").textValue();
+        Claims challenge = token != null ? jwtUtils.parseChallengeToken(token, method) : null;
+        return challenge != null ? challenge.getSubject() : null;
+    }
+
+    private JsonNode readBody(byte[] body) {
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            return node != null ? node : MissingNode.getInstance();
+        } catch (IOException e) {
+            // Malformed JSON is left to the controller; only the IP bucket applies
+            return MissingNode.getInstance();
+        }
+    }
+
+    private void tooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", "Request body is too large."));
+    }
+
+    private void reject(HttpServletResponse response, Duration wait) throws IOException {
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                Map.of("message", "Too many attempts. Please try again in " + seconds + " seconds."));
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Everything is already in memory, so the listener can read it all at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
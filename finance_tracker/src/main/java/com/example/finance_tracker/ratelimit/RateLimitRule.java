@@ -0,0 +1,16 @@
+package com.example.finance_tracker.ratelimit;
+
+// One bucket per distinct key value on an endpoint, e.g. per client IP on /login
+public record RateLimitRule(String endpoint, Key key, RateLimit limit) {
+
+    public enum Key {
+        IP,
+        // username field of the request body, together with the client IP
+        USERNAME,
+        // email field of the request body, together with the client IP
+        EMAIL,
+        // username inside a verified 2FA challenge token
+        PASSWORD_CHALLENGE,
+        OAUTH_CHALLENGE
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.finance_tracker.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Backend holding the token buckets. LocalRateLimiter keeps them in this JVM;
+ * MongoRateLimiter shares them between nodes.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket for key. Returns Duration.ZERO when the request may
+     * proceed, otherwise how long until a token is available again.
+     */
+    Duration tryAcquire(String key, RateLimit limit);
+}
@@ -0,0 +1,61 @@
+package com.example.finance_tracker.report.controller;
+
+import com.example.finance_tracker.report.service.ReactiveReportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Non-blocking ReportController for the reactive profile; rollup rebuilds and cache stats stay on servlet nodes
+@RestController
+@RequestMapping("/api/reports")
+@PreAuthorize("hasRole('USER')")
+@Profile("reactive")
+public class ReactiveReportController {
+
+    private final ReactiveReportService reportService;
+
+    public ReactiveReportController(ReactiveReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/summary")
+    public Mono<Map<String, Object>> getSummary() {
+        return reportService.getDashboardSummary();
+    }
+
+    // Without parameters keeps the original 6-month growth series used by the dashboard
+    @GetMapping("/trend")
+    public Mono<List<Map<String, Object>>> getTrend(
+        @RequestParam(required = false) LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(required = false) String granularity
+    ) {
+        if (from == null && to == null && granularity == null) {
+            return reportService.getSixMonthTrend();
+        }
+        return reportService.getTrend(from, to, granularity);
+    }
+
+    @GetMapping("/breakdown")
+    public Mono<Map<String, Double>> getCategoryBreakdown() {
+        return reportService.getCategoryBreakdown();
+    }
+
+    // Date-ranged top-K breakdown; kind=revenue splits income by source instead of category
+    @GetMapping("/breakdown/top")
+    public Mono<Map<String, Object>> getTopBreakdown(
+        @RequestParam(required = false) String kind,
+        @RequestParam(required = false) LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(defaultValue = "5") int limit
+    ) {
+        return reportService.getBreakdown(kind, from, to, limit);
+    }
+}
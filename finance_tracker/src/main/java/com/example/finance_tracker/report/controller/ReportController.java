@@ -1,17 +1,22 @@
 package com.example.finance_tracker.report.controller;
 
 import com.example.finance_tracker.report.service.ReportService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reports")
 @PreAuthorize("hasRole('USER')")
+@Profile("!reactive")
 public class ReportController {
 
     private final ReportService reportService;
@@ -26,13 +31,46 @@ public class ReportController {
     }
     
     // New endpoint for chart data
+    // Without parameters keeps the original 6-month growth series used by the dashboard
     @GetMapping("/trend")
-    public ResponseEntity<List<Map<String, Object>>> getTrend() {
-        return ResponseEntity.ok(reportService.getSixMonthTrend());
+    public ResponseEntity<List<Map<String, Object>>> getTrend(
+        @RequestParam(required = false) LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(required = false) String granularity
+    ) {
+        if (from == null && to == null && granularity == null) {
+            return ResponseEntity.ok(reportService.getSixMonthTrend());
+        }
+        return ResponseEntity.ok(reportService.getTrend(from, to, granularity));
     }
 
     @GetMapping("/breakdown")
     public ResponseEntity<Map<String, Double>> getCategoryBreakdown() {
         return ResponseEntity.ok(reportService.getCategoryBreakdown());
     }
+
+    // Date-ranged top-K breakdown; kind=revenue splits income by source instead of category
+    @GetMapping("/breakdown/top")
+    public ResponseEntity<Map<String, Object>> getTopBreakdown(
+        @RequestParam(required = false) String kind,
+        @RequestParam(required = false) LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(reportService.getBreakdown(kind, from, to, limit));
+    }
+
+    // Repairs the current user's monthly rollups from their raw transactions
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildRollups() {
+        reportService.rebuildRollups();
+        return ResponseEntity.ok(Map.of("message", "Monthly rollups rebuilt."));
+    }
+
+    // Report cache counters for sizing; not user data, so restricted to admins
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(reportService.getCacheStats());
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.finance_tracker.report.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Per-user counter bumped on every transaction write; the ETag of report and list responses.
+ * Kept in Mongo so every node answers conditional GETs from the same value.
+ */
+@Document(collection = "data_versions")
+public class DataVersion {
+
+    @Id
+    private String userId;
+    private long version;
+
+    public DataVersion() {}
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
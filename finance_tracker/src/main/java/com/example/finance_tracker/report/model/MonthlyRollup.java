@@ -0,0 +1,59 @@
+package com.example.finance_tracker.report.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Pre-aggregated count and sum of one user's transactions for one month,
+ * one kind (expense/revenue) and one category or source.
+ */
+@Document(collection = "monthly_rollups")
+public class MonthlyRollup {
+
+    public static final String EXPENSE = "expense";
+    public static final String REVENUE = "revenue";
+
+    // userId|kind|yyyy-MM|key, so upserts are naturally unique without an extra index
+    @Id
+    private String id;
+    private String userId;
+    private String kind;
+    private String key; // Expense category or revenue source
+    private LocalDate month; // First day of the month
+    private long count;
+    private long total; // Sum of amounts in minor units (cents)
+    private Instant updatedAt; // Server time of the last $inc or rebuild
+
+    public MonthlyRollup() {}
+
+    public static String idOf(String userId, String kind, YearMonth month, String key) {
+        return userId + "|" + kind + "|" + month + "|" + key;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public LocalDate getMonth() { return month; }
+    public void setMonth(LocalDate month) { this.month = month; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
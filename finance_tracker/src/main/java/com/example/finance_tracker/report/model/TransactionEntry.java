@@ -0,0 +1,10 @@
+package com.example.finance_tracker.report.model;
+
+import java.time.LocalDate;
+
+/**
+ * The parts of an expense or revenue that report state depends on.
+ * key is the expense category or the revenue source; amount is in minor units (cents).
+ */
+public record TransactionEntry(String key, LocalDate date, long amount) {
+}
@@ -0,0 +1,37 @@
+package com.example.finance_tracker.report.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDate;
+
+/**
+ * Per-user bounds of transaction dates and counts, kept current on every write
+ * so reports can find their anchor month with a single point read.
+ */
+@Document(collection = "transaction_watermarks")
+public class TransactionWatermark {
+
+    @Id
+    private String userId;
+    private LocalDate latestDate;
+    private LocalDate earliestDate;
+    private long expenseCount;
+    private long revenueCount;
+
+    public TransactionWatermark() {}
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public LocalDate getLatestDate() { return latestDate; }
+    public void setLatestDate(LocalDate latestDate) { this.latestDate = latestDate; }
+
+    public LocalDate getEarliestDate() { return earliestDate; }
+    public void setEarliestDate(LocalDate earliestDate) { this.earliestDate = earliestDate; }
+
+    public long getExpenseCount() { return expenseCount; }
+    public void setExpenseCount(long expenseCount) { this.expenseCount = expenseCount; }
+
+    public long getRevenueCount() { return revenueCount; }
+    public void setRevenueCount(long revenueCount) { this.revenueCount = revenueCount; }
+}
@@ -0,0 +1,76 @@
+package com.example.finance_tracker.report.model;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Bucket size for the trend report. Each value knows how to truncate a date to its bucket
+ * in Java, mirroring the $dateTrunc unit used by the aggregation.
+ */
+public enum TrendGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month"),
+    QUARTER("quarter"),
+    YEAR("year");
+
+    private final String mongoUnit;
+
+    TrendGranularity(String mongoUnit) {
+        this.mongoUnit = mongoUnit;
+    }
+
+    public static TrendGranularity from(String value) {
+        if (value == null || value.isBlank()) {
+            return MONTH;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Invalid granularity. Use one of: day, week, month, quarter, year.");
+        }
+    }
+
+    public String getMongoUnit() { return mongoUnit; }
+
+    // True when buckets are whole months, so they can be served from monthly rollups
+    public boolean isMonthAligned() {
+        return this == MONTH || this == QUARTER || this == YEAR;
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), ((date.getMonthValue() - 1) / 3) * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate plus(LocalDate bucket, long amount) {
+        return switch (this) {
+            case DAY -> bucket.plusDays(amount);
+            case WEEK -> bucket.plusWeeks(amount);
+            case MONTH -> bucket.plusMonths(amount);
+            case QUARTER -> bucket.plusMonths(3 * amount);
+            case YEAR -> bucket.plusYears(amount);
+        };
+    }
+
+    public String label(LocalDate bucket) {
+        return switch (this) {
+            case DAY, WEEK -> bucket.format(DateTimeFormatter.ofPattern("MMM d"));
+            case MONTH -> bucket.format(DateTimeFormatter.ofPattern("MMM yyyy"));
+            case QUARTER -> "Q" + ((bucket.getMonthValue() - 1) / 3 + 1) + " " + bucket.getYear();
+            case YEAR -> String.valueOf(bucket.getYear());
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.finance_tracker.report.repository;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MonthlyRollupRepository extends MongoRepository<MonthlyRollup, String> {
+
+    List<MonthlyRollup> findByUserIdAndKind(String userId, String kind);
+
+    //Find rollup rows for a user between two months (Inclusive)
+    @Query("{ 'userId' : ?0, 'month' : { $gte: ?1, $lte: ?2 } }")
+    List<MonthlyRollup> findByUserIdAndMonthBetween(String userId, LocalDate fromMonth, LocalDate toMonth);
+}
@@ -0,0 +1,19 @@
+package com.example.finance_tracker.report.repository;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import java.time.LocalDate;
+
+// Non-blocking counterpart of MonthlyRollupRepository, used by the reactive profile
+@Profile("reactive")
+public interface ReactiveMonthlyRollupRepository extends ReactiveMongoRepository<MonthlyRollup, String> {
+
+    Flux<MonthlyRollup> findByUserIdAndKind(String userId, String kind);
+
+    //Find rollup rows for a user between two months (Inclusive)
+    @Query("{ 'userId' : ?0, 'month' : { $gte: ?1, $lte: ?2 } }")
+    Flux<MonthlyRollup> findByUserIdAndMonthBetween(String userId, LocalDate fromMonth, LocalDate toMonth);
+}
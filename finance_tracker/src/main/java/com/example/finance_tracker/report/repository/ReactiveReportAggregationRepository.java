@@ -0,0 +1,52 @@
+package com.example.finance_tracker.report.repository;
+
+import com.example.finance_tracker.report.model.TrendGranularity;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.Breakdown;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.DashboardTotals;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.Pipeline;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.TrendBucket;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking twin of ReportAggregationRepository for the reactive profile.
+ * Runs the same pipelines and maps the same result documents; only the driver differs.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveReportAggregationRepository {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveReportAggregationRepository(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    public Mono<DashboardTotals> getDashboardTotals(String userId) {
+        return reactiveMongoTemplate.aggregate(ReportAggregationRepository.dashboardTotalsPipeline(userId),
+                ReportAggregationRepository.ROLLUPS, Document.class)
+            .next()
+            .map(ReportAggregationRepository::toDashboardTotals)
+            .defaultIfEmpty(DashboardTotals.EMPTY);
+    }
+
+    public Flux<TrendBucket> getTrendBuckets(String userId, LocalDate from, LocalDate to, TrendGranularity granularity) {
+        Pipeline pipeline = ReportAggregationRepository.trendPipeline(userId, from, to, granularity);
+        return reactiveMongoTemplate.aggregate(pipeline.aggregation(), pipeline.collection(), Document.class)
+            .map(ReportAggregationRepository::toTrendBucket);
+    }
+
+    public Mono<Breakdown> getBreakdown(String userId, String kind, LocalDate from, LocalDate to, int limit) {
+        Pipeline pipeline = ReportAggregationRepository.breakdownPipeline(userId, kind, from, to, limit);
+        return reactiveMongoTemplate.aggregate(pipeline.aggregation(), pipeline.collection(), Document.class)
+            .next()
+            .map(ReportAggregationRepository::toBreakdown)
+            .switchIfEmpty(Mono.fromSupplier(() -> ReportAggregationRepository.toBreakdown(null)));
+    }
+}
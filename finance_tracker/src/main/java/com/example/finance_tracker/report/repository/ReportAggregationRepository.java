@@ -0,0 +1,409 @@
+package com.example.finance_tracker.report.repository;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TrendGranularity;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Server-side aggregations backing the report endpoints.
+ * Only aggregated rows come back to the JVM, never individual transactions.
+ */
+@Repository
+public class ReportAggregationRepository {
+
+    public static final String EXPENSES = "expenses";
+    public static final String REVENUES = "revenues";
+    public static final String ROLLUPS = "monthly_rollups";
+
+    // LocalDate fields are stored as midnight in the JVM default zone, so date math must use the same zone
+    private static final String TIMEZONE = ZoneId.systemDefault().getId();
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReportAggregationRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Computes lifetime net balance plus latest/previous month flows in a single round trip.
+     * Reads the monthly rollup rows, reduces them to one row per (kind, month)
+     * and then folds those into one summary document.
+     */
+    public DashboardTotals getDashboardTotals(String userId) {
+        Document result = mongoTemplate.aggregate(dashboardTotalsPipeline(userId), ROLLUPS, Document.class)
+            .getUniqueMappedResult();
+        return result == null ? DashboardTotals.EMPTY : toDashboardTotals(result);
+    }
+
+    static Aggregation dashboardTotalsPipeline(String userId) {
+        return Aggregation.newAggregation(
+            stage(new Document("$match", new Document("userId", userId).append("count", new Document("$gt", 0)))),
+            stage(new Document("$group", new Document("_id", new Document("kind", "$kind")
+                    .append("month", "$month"))
+                .append("total", new Document("$sum", "$total")))),
+            stage(new Document("$group", new Document("_id", null)
+                .append("latestMonth", new Document("$max", "$_id.month"))
+                .append("months", new Document("$push", new Document("kind", "$_id.kind")
+                    .append("month", "$_id.month")
+                    .append("total", "$total"))))),
+            stage(new Document("$set", new Document("previousMonth", new Document("$dateSubtract",
+                new Document("startDate", "$latestMonth")
+                    .append("unit", "month")
+                    .append("amount", 1)
+                    .append("timezone", TIMEZONE))))),
+            stage(new Document("$project", new Document("_id", 0)
+                .append("latestMonth", 1)
+                .append("netBalance", new Document("$sum", new Document("$map", new Document("input", "$months")
+                    .append("as", "m")
+                    .append("in", new Document("$cond", List.of(
+                        new Document("$eq", List.of("$$m.kind", MonthlyRollup.REVENUE)),
+                        "$$m.total",
+                        new Document("$subtract", List.of(0, "$$m.total"))))))))
+                .append("monthlyIncome", sumOfMonth(MonthlyRollup.REVENUE, "$latestMonth"))
+                .append("monthlyExpense", sumOfMonth(MonthlyRollup.EXPENSE, "$latestMonth"))
+                .append("lastMonthIncome", sumOfMonth(MonthlyRollup.REVENUE, "$previousMonth"))
+                .append("lastMonthExpense", sumOfMonth(MonthlyRollup.EXPENSE, "$previousMonth"))))
+        );
+    }
+
+    static DashboardTotals toDashboardTotals(Document result) {
+        return new DashboardTotals(
+            toLocalDate(result.getDate("latestMonth")),
+            minorUnits(result, "netBalance"),
+            minorUnits(result, "monthlyIncome"),
+            minorUnits(result, "monthlyExpense"),
+            minorUnits(result, "lastMonthIncome"),
+            minorUnits(result, "lastMonthExpense")
+        );
+    }
+
+    /**
+     * Sums income and expense per time bucket between two dates (inclusive) in one aggregation.
+     * Month-aligned ranges at month granularity or coarser are read from the monthly rollups,
+     * anything finer from the raw transactions merged with $unionWith.
+     */
+    public List<TrendBucket> getTrendBuckets(String userId, LocalDate from, LocalDate to, TrendGranularity granularity) {
+        Pipeline pipeline = trendPipeline(userId, from, to, granularity);
+        List<TrendBucket> buckets = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(pipeline.aggregation(), pipeline.collection(), Document.class)) {
+            buckets.add(toTrendBucket(row));
+        }
+        return buckets;
+    }
+
+    static Pipeline trendPipeline(String userId, LocalDate from, LocalDate to, TrendGranularity granularity) {
+        boolean useRollups = granularity.isMonthAligned()
+            && from.getDayOfMonth() == 1
+            && to.equals(YearMonth.from(to).atEndOfMonth());
+
+        Aggregation aggregation;
+        String collection;
+        if (useRollups) {
+            collection = ROLLUPS;
+            aggregation = Aggregation.newAggregation(
+                stage(new Document("$match", new Document("userId", userId)
+                    .append("count", new Document("$gt", 0))
+                    .append("month", new Document("$gte", toDate(from)).append("$lte", toDate(to))))),
+                stage(new Document("$group", new Document("_id", new Document("kind", "$kind")
+                        .append("period", truncate("$month", granularity)))
+                    .append("total", new Document("$sum", "$total"))))
+            );
+        } else {
+            collection = EXPENSES;
+            Document match = new Document("$match", new Document("userId", userId)
+                .append("date", new Document("$gte", toDate(from)).append("$lte", toDate(to))));
+            aggregation = Aggregation.newAggregation(
+                stage(match),
+                stage(tagKind(MonthlyRollup.EXPENSE)),
+                stage(new Document("$unionWith", new Document("coll", REVENUES)
+                    .append("pipeline", List.of(match, tagKind(MonthlyRollup.REVENUE))))),
+                stage(new Document("$group", new Document("_id", new Document("kind", "$kind")
+                        .append("period", truncate("$date", granularity)))
+                    .append("total", new Document("$sum", "$amount"))))
+            );
+        }
+        return new Pipeline(collection, aggregation);
+    }
+
+    static TrendBucket toTrendBucket(Document row) {
+        Document id = row.get("_id", Document.class);
+        return new TrendBucket(id.getString("kind"), toLocalDate(id.getDate("period")), minorUnits(row, "total"));
+    }
+
+    /**
+     * Returns the top-K categories (expenses) or sources (revenues) by total within an optional
+     * date range, plus the combined remainder, from one $match/$group/$sort/$facet pipeline.
+     * Unbounded or month-aligned ranges are answered from the monthly rollups.
+     */
+    public Breakdown getBreakdown(String userId, String kind, LocalDate from, LocalDate to, int limit) {
+        Pipeline pipeline = breakdownPipeline(userId, kind, from, to, limit);
+        return toBreakdown(mongoTemplate.aggregate(pipeline.aggregation(), pipeline.collection(), Document.class)
+            .getUniqueMappedResult());
+    }
+
+    static Pipeline breakdownPipeline(String userId, String kind, LocalDate from, LocalDate to, int limit) {
+        boolean useRollups = (from == null || from.getDayOfMonth() == 1)
+            && (to == null || to.equals(YearMonth.from(to).atEndOfMonth()));
+
+        Document match = new Document("userId", userId);
+        String collection;
+        Document project = null;
+        Document group;
+        if (useRollups) {
+            collection = ROLLUPS;
+            match.append("kind", kind).append("count", new Document("$gt", 0));
+            Document monthRange = dateRange(from, to);
+            if (monthRange != null) {
+                match.append("month", monthRange);
+            }
+            group = new Document("_id", "$key")
+                .append("total", new Document("$sum", "$total"))
+                .append("count", new Document("$sum", "$count"));
+        } else {
+            collection = MonthlyRollup.REVENUE.equals(kind) ? REVENUES : EXPENSES;
+            match.append("date", dateRange(from, to));
+            String keyField = MonthlyRollup.REVENUE.equals(kind) ? "source" : "category";
+            // Only indexed fields and no _id, so userId_date_{category|source}_amount covers the query
+            project = new Document("_id", 0).append(keyField, 1).append("amount", 1);
+            group = new Document("_id", "$" + keyField)
+                .append("total", new Document("$sum", "$amount"))
+                .append("count", new Document("$sum", 1));
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(stage(new Document("$match", match)));
+        if (project != null) {
+            stages.add(stage(new Document("$project", project)));
+        }
+        stages.add(stage(new Document("$group", group)));
+        stages.add(stage(new Document("$sort", new Document("total", -1).append("_id", 1))));
+        stages.add(
+            stage(new Document("$facet", new Document("top", List.of(new Document("$limit", limit)))
+                .append("rest", List.of(
+                    new Document("$skip", limit),
+                    new Document("$group", new Document("_id", null)
+                        .append("total", new Document("$sum", "$total"))
+                        .append("count", new Document("$sum", "$count"))
+                        .append("keys", new Document("$sum", 1))))))));
+        return new Pipeline(collection, Aggregation.newAggregation(stages));
+    }
+
+    // result is the single $facet document, or null when nothing matched
+    static Breakdown toBreakdown(Document result) {
+        List<BreakdownItem> items = new ArrayList<>();
+        long otherTotal = 0;
+        long otherCount = 0;
+        int otherKeys = 0;
+        if (result != null) {
+            for (Document row : result.getList("top", Document.class)) {
+                items.add(new BreakdownItem(row.getString("_id"), minorUnits(row, "total"), (long) number(row, "count")));
+            }
+            List<Document> rest = result.getList("rest", Document.class);
+            if (!rest.isEmpty()) {
+                otherTotal = minorUnits(rest.get(0), "total");
+                otherCount = (long) number(rest.get(0), "count");
+                otherKeys = (int) number(rest.get(0), "keys");
+            }
+        }
+        return new Breakdown(items, new BreakdownItem("Other", otherTotal, otherCount), otherKeys);
+    }
+
+    /**
+     * Earliest date, latest date and number of a user's transactions in one collection.
+     */
+    public DateStats getDateStats(String collection, String userId) {
+        Document result = mongoTemplate.aggregate(dateStatsPipeline(userId), collection, Document.class)
+            .getUniqueMappedResult();
+        return result == null ? DateStats.EMPTY : toDateStats(result);
+    }
+
+    static Aggregation dateStatsPipeline(String userId) {
+        return Aggregation.newAggregation(
+            stage(new Document("$match", new Document("userId", userId))),
+            stage(new Document("$group", new Document("_id", null)
+                .append("earliest", new Document("$min", "$date"))
+                .append("latest", new Document("$max", "$date"))
+                .append("count", new Document("$sum", 1))))
+        );
+    }
+
+    static DateStats toDateStats(Document result) {
+        return new DateStats(toLocalDate(result.getDate("earliest")), toLocalDate(result.getDate("latest")),
+            (long) number(result, "count"));
+    }
+
+    /**
+     * Recomputes monthly rollup rows from the raw transactions and merges them into monthly_rollups,
+     * replacing rows in place. Pass null to rebuild every user. Nothing is deleted up front, so reports
+     * never see the user's rows missing and a concurrent $inc upsert is not counted again by a recreated
+     * row. Afterwards, rows in scope that neither the rebuild nor a write touched since it started are
+     * left over and removed. A write whose transaction lands while the aggregation is reading can still
+     * be replaced by the recomputed row; the next rebuild repairs it.
+     */
+    public void rebuildRollups(String userId) {
+        // Server clock, the same one $$NOW and $currentDate use
+        Date started = mongoTemplate.getDb().runCommand(new Document("hello", 1)).getDate("localTime");
+        rebuildRollups(EXPENSES, MonthlyRollup.EXPENSE, "$category", userId);
+        rebuildRollups(REVENUES, MonthlyRollup.REVENUE, "$source", userId);
+
+        Document stale = userId != null ? new Document("userId", userId) : new Document();
+        stale.append("updatedAt", new Document("$not", new Document("$gte", started)));
+        mongoTemplate.getCollection(ROLLUPS).deleteMany(stale);
+    }
+
+    private void rebuildRollups(String collection, String kind, String keyField, String userId) {
+        Document match = userId != null ? new Document("userId", userId) : new Document();
+        Aggregation aggregation = Aggregation.newAggregation(
+            stage(new Document("$match", match)),
+            stage(new Document("$group", new Document("_id", new Document("userId", "$userId")
+                    .append("month", monthOf("$date"))
+                    .append("key", keyField))
+                .append("count", new Document("$sum", 1))
+                .append("total", new Document("$sum", "$amount")))),
+            // Same id layout as MonthlyRollup.idOf so incremental upserts hit the rebuilt rows
+            stage(new Document("$project", new Document("_id", new Document("$concat", List.of(
+                    "$_id.userId", "|", kind, "|",
+                    new Document("$dateToString", new Document("date", "$_id.month")
+                        .append("format", "%Y-%m")
+                        .append("timezone", TIMEZONE)),
+                    "|", "$_id.key")))
+                .append("userId", "$_id.userId")
+                .append("kind", new Document("$literal", kind))
+                .append("key", "$_id.key")
+                .append("month", "$_id.month")
+                .append("count", 1)
+                .append("total", 1)
+                .append("updatedAt", "$$NOW"))),
+            stage(new Document("$merge", new Document("into", ROLLUPS)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert")))
+        );
+        mongoTemplate.aggregate(aggregation, collection, Document.class);
+    }
+
+    static AggregationOperation stage(Document document) {
+        return context -> document;
+    }
+
+    // Inclusive date bounds, either of which may be open; null when both are
+    static Document dateRange(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        Document range = new Document();
+        if (from != null) {
+            range.append("$gte", toDate(from));
+        }
+        if (to != null) {
+            range.append("$lte", toDate(to));
+        }
+        return range;
+    }
+
+    static Document tagKind(String kind) {
+        return new Document("$project", new Document("_id", 0)
+            .append("kind", new Document("$literal", kind))
+            .append("amount", 1)
+            .append("date", 1));
+    }
+
+    static Document truncate(String dateField, TrendGranularity granularity) {
+        Document dateTrunc = new Document("date", dateField)
+            .append("unit", granularity.getMongoUnit())
+            .append("timezone", TIMEZONE);
+        if (granularity == TrendGranularity.WEEK) {
+            dateTrunc.append("startOfWeek", "monday");
+        }
+        return new Document("$dateTrunc", dateTrunc);
+    }
+
+    static Document monthOf(String dateField) {
+        return new Document("$dateTrunc", new Document("date", dateField)
+            .append("unit", "month")
+            .append("timezone", TIMEZONE));
+    }
+
+    // Sum of the monthly totals for one kind in one month, taken from the pushed "months" array
+    private static Document sumOfMonth(String kind, String month) {
+        Document matching = new Document("$filter", new Document("input", "$months")
+            .append("as", "m")
+            .append("cond", new Document("$and", List.of(
+                new Document("$eq", List.of("$$m.kind", kind)),
+                new Document("$eq", List.of("$$m.month", month))))));
+        return new Document("$sum", new Document("$map", new Document("input", matching)
+            .append("as", "m")
+            .append("in", "$$m.total")));
+    }
+
+    static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    static double number(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number n ? n.doubleValue() : 0.0;
+    }
+
+    // Money sums are int64 minor units; $sum keeps them exact
+    static long minorUnits(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+
+    /**
+     * An aggregation and the collection it starts from.
+     */
+    record Pipeline(String collection, Aggregation aggregation) {}
+
+    /**
+     * Date bounds and count of one user's transactions; dates are null when there are none.
+     */
+    public record DateStats(LocalDate earliest, LocalDate latest, long count) {
+
+        static final DateStats EMPTY = new DateStats(null, null, 0);
+    }
+
+    /**
+     * Amount (minor units) and number of transactions attributed to one category or source.
+     */
+    public record BreakdownItem(String name, long total, long count) {}
+
+    /**
+     * Top-K items by total, the remainder folded into "other", and how many keys the remainder holds.
+     */
+    public record Breakdown(List<BreakdownItem> items, BreakdownItem other, int otherKeys) {}
+
+    /**
+     * Total (minor units) of one kind (expense/revenue) within one trend bucket starting at period.
+     */
+    public record TrendBucket(String kind, LocalDate period, long total) {}
+
+    /**
+     * Aggregated figures (minor units) for the dashboard KPI boxes. latestMonth is null when the user has no data.
+     */
+    public record DashboardTotals(LocalDate latestMonth,
+                                  long netBalance,
+                                  long monthlyIncome,
+                                  long monthlyExpense,
+                                  long lastMonthIncome,
+                                  long lastMonthExpense) {
+
+        static final DashboardTotals EMPTY = new DashboardTotals(null, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.finance_tracker.report.repository;
+
+import com.example.finance_tracker.report.model.TransactionWatermark;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TransactionWatermarkRepository extends MongoRepository<TransactionWatermark, String> {
+}
@@ -0,0 +1,67 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.DataVersion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-user data version used as the ETag for report and list responses. The counter lives in
+ * the data_versions collection and only ever grows, so every node sees a write and a tag is
+ * never reused. Reads may be served from a local copy for up to app.reports.etag.max-staleness;
+ * the node handling a write updates its copy at once, other nodes within that window.
+ */
+@Component
+public class DataVersionService {
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, Long> versions;
+
+    public DataVersionService(MongoTemplate mongoTemplate,
+                              @Value("${app.reports.cache.max-users:10000}") long maxUsers,
+                              @Value("${app.reports.etag.max-staleness:1s}") Duration maxStaleness) {
+        this.mongoTemplate = mongoTemplate;
+        this.versions = Caffeine.newBuilder()
+            .maximumSize(maxStaleness.isZero() ? 0 : maxUsers)
+            .expireAfterWrite(maxStaleness)
+            .build();
+    }
+
+    /**
+     * Weak validator: the same version can be sent gzip-compressed or not, and Tomcat
+     * skips compression for responses that carry a strong ETag.
+     */
+    public String getETag(String userId) {
+        return "W/\"" + getVersion(userId) + "\"";
+    }
+
+    public long getVersion(String userId) {
+        return versions.get(userId, this::load);
+    }
+
+    public void bump(String userId) {
+        DataVersion bumped = mongoTemplate.findAndModify(byUser(userId), new Update().inc("version", 1),
+            FindAndModifyOptions.options().upsert(true).returnNew(true), DataVersion.class);
+        versions.put(userId, bumped.getVersion());
+    }
+
+    // A user who never wrote anything is at version 0
+    private long load(String userId) {
+        Query query = byUser(userId);
+        query.fields().include("version");
+        DataVersion current = mongoTemplate.findOne(query, DataVersion.class);
+        return current != null ? current.getVersion() : 0;
+    }
+
+    private static Query byUser(String userId) {
+        return new Query(Criteria.where("_id").is(userId));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TransactionWatermark;
+import com.example.finance_tracker.report.model.TrendGranularity;
+import com.example.finance_tracker.report.repository.ReactiveMonthlyRollupRepository;
+import com.example.finance_tracker.report.repository.ReactiveReportAggregationRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking ReportService for the reactive profile. Runs the same pipelines and shapes
+ * the results with the same helpers, so responses are identical. There is no ReportCache
+ * here: the point of this stack is holding many idle connections on few threads, and each
+ * report is a single rollup read anyway.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReportService {
+
+    private final ReactiveReportAggregationRepository reportAggregationRepository;
+    private final ReactiveMonthlyRollupRepository monthlyRollupRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final WatermarkService watermarkService;
+
+    public ReactiveReportService(ReactiveReportAggregationRepository reportAggregationRepository,
+                                 ReactiveMonthlyRollupRepository monthlyRollupRepository,
+                                 ReactiveMongoTemplate reactiveMongoTemplate,
+                                 WatermarkService watermarkService) {
+        this.reportAggregationRepository = reportAggregationRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.watermarkService = watermarkService;
+    }
+
+    private Mono<String> getCurrentUserId() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(context -> context.getAuthentication().getName());
+    }
+
+    public Mono<Map<String, Object>> getDashboardSummary() {
+        return getCurrentUserId()
+            .flatMap(reportAggregationRepository::getDashboardTotals)
+            .map(ReportService::summaryOf);
+    }
+
+    public Mono<List<Map<String, Object>>> getSixMonthTrend() {
+        return getCurrentUserId().flatMap(userId -> findLatestTransactionDate(userId)
+            .map(YearMonth::from)
+            .flatMap(lastMonth -> monthlyRollupRepository
+                .findByUserIdAndMonthBetween(userId, ReportService.sixMonthWindowStart(lastMonth), lastMonth.atDay(1))
+                .collectList()
+                .map(rollups -> ReportService.sixMonthTrendOf(lastMonth, rollups))));
+    }
+
+    public Mono<List<Map<String, Object>>> getTrend(LocalDate from, LocalDate to, String granularityParam) {
+        TrendGranularity granularity = TrendGranularity.from(granularityParam);
+        return getCurrentUserId().flatMap(userId -> (to != null ? Mono.just(to) : findLatestTransactionDate(userId))
+            .map(end -> ReportService.TrendWindow.of(from, end, granularity))
+            .flatMap(window -> reportAggregationRepository
+                .getTrendBuckets(userId, window.previousBucket(), window.rangeEnd(), granularity)
+                .collectList()
+                .map(buckets -> ReportService.trendOf(window, buckets))));
+    }
+
+    public Mono<Map<String, Double>> getCategoryBreakdown() {
+        return getCurrentUserId()
+            .flatMap(userId -> monthlyRollupRepository.findByUserIdAndKind(userId, MonthlyRollup.EXPENSE).collectList())
+            .map(ReportService::categoryTotalsOf);
+    }
+
+    public Mono<Map<String, Object>> getBreakdown(String kind, LocalDate from, LocalDate to, int limit) {
+        return Mono.fromCallable(() -> ReportService.breakdownKind(kind, from, to, limit))
+            .flatMap(breakdownKind -> getCurrentUserId()
+                .flatMap(userId -> reportAggregationRepository.getBreakdown(userId, breakdownKind, from, to, limit))
+                .map(breakdown -> ReportService.breakdownOf(breakdownKind, from, to, breakdown)));
+    }
+
+    // Point read of the watermark; only a user without one yet pays for the blocking recompute
+    private Mono<LocalDate> findLatestTransactionDate(String userId) {
+        return reactiveMongoTemplate.findById(userId, TransactionWatermark.class)
+            .map(watermark -> watermark.getLatestDate() != null ? watermark.getLatestDate() : LocalDate.now())
+            .switchIfEmpty(Mono.fromCallable(() -> watermarkService.getLatestDate(userId))
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.finance_tracker.report.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of computed report results, one entry per user.
+ * Each user entry holds that user's reports keyed by report type (plus parameters),
+ * so a write can drop everything cached for the user with a single invalidation.
+ * Invalidation only reaches the node that handled the write, so each user entry also
+ * records the data version it was built at; an entry older than the version from
+ * DataVersionService is discarded, and other nodes never pair stale reports with a new ETag.
+ */
+@Component
+public class ReportCache {
+
+    // Caps how many parameter variations a single user can park in the cache
+    private static final int MAX_REPORTS_PER_USER = 32;
+
+    private final DataVersionService dataVersionService;
+    private final Cache<String, UserReports> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReportCache(DataVersionService dataVersionService,
+                       @Value("${app.reports.cache.max-users:10000}") long maxUsers,
+                       @Value("${app.reports.cache.ttl:10m}") Duration ttl) {
+        this.dataVersionService = dataVersionService;
+        // Caffeine evicts with W-TinyLFU once maxUsers is reached
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the cached report or computes and stores it.
+     * The per-user map is looked up before computing, so a result computed concurrently
+     * with an invalidation lands in the discarded map and is never served.
+     * The version is read before computing too, so a stored result is never older than its version.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String userId, String reportKey, Supplier<T> loader) {
+        long version = dataVersionService.getVersion(userId);
+        UserReports entry = cache.getIfPresent(userId);
+        if (entry == null || entry.version() < version) {
+            entry = cache.asMap().compute(userId, (id, current) ->
+                current == null || current.version() < version ? new UserReports(version) : current);
+        }
+        if (entry.version() != version) {
+            // This node's copy of the version is behind the entry; answer without caching
+            misses.increment();
+            return loader.get();
+        }
+        ConcurrentMap<String, Object> reports = entry.reports();
+        Object cached = reports.get(reportKey);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+        T result = loader.get();
+        if (reports.size() >= MAX_REPORTS_PER_USER) {
+            reports.clear();
+        }
+        reports.put(reportKey, result);
+        return result;
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Hits and misses are counted per report; size and evictions per user entry.
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return Map.of(
+            "users", cache.estimatedSize(),
+            "hits", hitCount,
+            "misses", missCount,
+            "hitRate", requests == 0 ? 0.0 : (double) hitCount / requests,
+            "evictions", stats.evictionCount()
+        );
+    }
+
+    private record UserReports(long version, ConcurrentMap<String, Object> reports) {
+
+        UserReports(long version) {
+            this(version, new ConcurrentHashMap<>());
+        }
+    }
+}
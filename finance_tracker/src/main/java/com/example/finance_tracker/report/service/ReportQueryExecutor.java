@@ -0,0 +1,78 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.common.MongoCallCounter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent report queries concurrently on virtual threads, so a report costs
+ * roughly its slowest query instead of the sum of all of them.
+ * Tasks run outside the request thread and must not read SecurityContextHolder;
+ * callers resolve the userId first and capture it in the task.
+ */
+@Component
+public class ReportQueryExecutor implements DisposableBean {
+
+    private final boolean enabled;
+    private final Duration timeout;
+    private final ExecutorService executor;
+
+    public ReportQueryExecutor(@Value("${app.reports.parallel.enabled:true}") boolean enabled,
+                               @Value("${app.reports.parallel.timeout:5s}") Duration timeout) {
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.executor = enabled ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    /**
+     * Runs both queries (concurrently when enabled) and combines their results.
+     * Each query is bounded by the configured timeout.
+     */
+    public <A, B, R> R both(Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combiner) {
+        if (!enabled) {
+            return combiner.apply(first.get(), second.get());
+        }
+        CompletableFuture<A> firstResult = submit(first);
+        CompletableFuture<B> secondResult = submit(second);
+        return combiner.apply(await(firstResult), await(secondResult));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(MongoCallCounter.propagate(query), executor)
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Report query timed out.");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,31 +1,56 @@
 package com.example.finance_tracker.report.service;
 
-import com.example.finance_tracker.expense.repository.ExpenseRepository;
-import com.example.finance_tracker.revenue.repository.RevenueRepository;
+import com.example.finance_tracker.common.Money;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TrendGranularity;
+import com.example.finance_tracker.report.repository.MonthlyRollupRepository;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.Breakdown;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.BreakdownItem;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.DashboardTotals;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.TrendBucket;
 import org.springframework.security.core.context.SecurityContextHolder;
-import com.example.finance_tracker.expense.model.Expense;
-import com.example.finance_tracker.revenue.model.Revenue;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
+/**
+ * Report endpoints for the servlet stack. The static helpers turn query results into
+ * response maps and validate parameters; ReactiveReportService reuses them so both
+ * stacks return identical payloads.
+ */
 @Service
 public class ReportService {
 
-    private final ExpenseRepository expenseRepository;
-    private final RevenueRepository revenueRepository;
+    // Upper bound on buckets per trend request (e.g. ~5 years of daily points)
+    private static final int MAX_TREND_BUCKETS = 2000;
+    private static final int MAX_BREAKDOWN_LIMIT = 100;
 
-    public ReportService(ExpenseRepository expenseRepository, RevenueRepository revenueRepository) {
-        this.expenseRepository = expenseRepository;
-        this.revenueRepository = revenueRepository;
+    private final ReportAggregationRepository reportAggregationRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final WatermarkService watermarkService;
+    private final ReportUpdateService reportUpdateService;
+    private final ReportCache reportCache;
+
+    public ReportService(ReportAggregationRepository reportAggregationRepository,
+                         MonthlyRollupRepository monthlyRollupRepository,
+                         WatermarkService watermarkService,
+                         ReportUpdateService reportUpdateService,
+                         ReportCache reportCache) {
+        this.reportAggregationRepository = reportAggregationRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.watermarkService = watermarkService;
+        this.reportUpdateService = reportUpdateService;
+        this.reportCache = reportCache;
     }
 
     private String getCurrentUserId() {
@@ -35,78 +60,36 @@ public class ReportService {
     /**
      * Calculates summary stats for the 3 KPI boxes.
      * Defaults to the latest month with data, not necessarily the current calendar month.
+     * All sums are computed by a single aggregation over the monthly rollups; no transactions are loaded.
      */
     public Map<String, Object> getDashboardSummary() {
         String userId = getCurrentUserId();
-        
-        // Find the latest date with data to determine "Current Month"
-        LocalDate latestDate = findLatestTransactionDate(userId);
-        
-        // --- 1. Lifetime Net Balance ---
-        double totalRevenue = revenueRepository.findByUserId(userId).stream()
-            .mapToDouble(Revenue::getAmount).sum();
-        double totalExpense = expenseRepository.findByUserId(userId).stream()
-            .mapToDouble(Expense::getAmount).sum();
-        double netBalance = totalRevenue - totalExpense;
-
-        // --- 2. Monthly Calculations (Based on Latest Data Month) ---
-        LocalDate startOfCurrentMonth = YearMonth.from(latestDate).atDay(1);
-        LocalDate endOfCurrentMonth = YearMonth.from(latestDate).atEndOfMonth();
-        
-        LocalDate startOfLastMonth = YearMonth.from(latestDate).minusMonths(1).atDay(1);
-        LocalDate endOfLastMonth = YearMonth.from(latestDate).minusMonths(1).atEndOfMonth();
-
-        // Latest Month Flow
-        double currentMonthIncome = revenueRepository.findByUserIdAndDateBetween(userId, startOfCurrentMonth, endOfCurrentMonth).stream()
-            .mapToDouble(Revenue::getAmount).sum();
-        double currentMonthExpense = expenseRepository.findByUserIdAndDateBetween(userId, startOfCurrentMonth, endOfCurrentMonth).stream()
-            .mapToDouble(Expense::getAmount).sum();
-        
-        // Previous Month Flow
-        double lastMonthIncome = revenueRepository.findByUserIdAndDateBetween(userId, startOfLastMonth, endOfLastMonth).stream()
-            .mapToDouble(Revenue::getAmount).sum();
-        double lastMonthExpense = expenseRepository.findByUserIdAndDateBetween(userId, startOfLastMonth, endOfLastMonth).stream()
-            .mapToDouble(Expense::getAmount).sum();
-
-        // --- 3. Trends ---
-        double incomeTrend = calculateTrend(currentMonthIncome, lastMonthIncome);
-        double expenseTrend = calculateTrend(currentMonthExpense, lastMonthExpense);
-        
+        return reportCache.get(userId, "summary", () -> summaryOf(reportAggregationRepository.getDashboardTotals(userId)));
+    }
+
+    static Map<String, Object> summaryOf(DashboardTotals totals) {
+        LocalDate latestDate = totals.latestMonth() != null ? totals.latestMonth() : LocalDate.now();
+
+        // --- Trends (Latest Data Month vs Previous Month) ---
+        double incomeTrend = Money.growth(totals.monthlyIncome(), totals.lastMonthIncome());
+        double expenseTrend = Money.growth(totals.monthlyExpense(), totals.lastMonthExpense());
+
         Map<String, Object> summary = new HashMap<>();
-        summary.put("netBalance", netBalance);
-        
-        summary.put("monthlyIncome", currentMonthIncome);
+        summary.put("netBalance", Money.toMajor(totals.netBalance()));
+
+        summary.put("monthlyIncome", Money.toMajor(totals.monthlyIncome()));
         summary.put("incomeTrend", incomeTrend);
-        
-        summary.put("monthlyExpense", currentMonthExpense);
+
+        summary.put("monthlyExpense", Money.toMajor(totals.monthlyExpense()));
         summary.put("expenseTrend", expenseTrend);
-        
+
         summary.put("monthName", latestDate.format(DateTimeFormatter.ofPattern("MMM"))); // Return Month Name
 
         return summary;
     }
 
     private LocalDate findLatestTransactionDate(String userId) {
-        Optional<Expense> lastExpense = expenseRepository.findFirstByUserIdOrderByDateDesc(userId);
-        Optional<Revenue> lastRevenue = revenueRepository.findFirstByUserIdOrderByDateDesc(userId);
-        
-        if (lastExpense.isPresent() && lastRevenue.isPresent()) {
-            return lastExpense.get().getDate().isAfter(lastRevenue.get().getDate()) 
-                ? lastExpense.get().getDate() 
-                : lastRevenue.get().getDate();
-        } else if (lastExpense.isPresent()) {
-            return lastExpense.get().getDate();
-        } else if (lastRevenue.isPresent()) {
-            return lastRevenue.get().getDate();
-        }
-        return LocalDate.now(); // Default to now if no data
-    }
-
-    private double calculateTrend(double current, double previous) {
-        if (previous == 0) {
-            return current == 0 ? 0.0 : 100.0;
-        }
-        return ((current - previous) / Math.abs(previous)) * 100;
+        return watermarkService.getLatestDate(userId);
     }
 
     /**
@@ -114,41 +97,43 @@ public class ReportService {
      */
     public List<Map<String, Object>> getSixMonthTrend() {
         String userId = getCurrentUserId();
-        LocalDate latestDate = findLatestTransactionDate(userId); // Use same logic
-        
+        return reportCache.get(userId, "trend", () -> {
+            // One read of the rollup rows covering the whole window
+            YearMonth lastMonth = YearMonth.from(findLatestTransactionDate(userId));
+            List<MonthlyRollup> rollups = monthlyRollupRepository.findByUserIdAndMonthBetween(
+                userId, sixMonthWindowStart(lastMonth), lastMonth.atDay(1));
+            return sixMonthTrendOf(lastMonth, rollups);
+        });
+    }
+
+    // We need 7 months of data to calculate 6 months of trends
+    static LocalDate sixMonthWindowStart(YearMonth lastMonth) {
+        return lastMonth.minusMonths(6).atDay(1);
+    }
+
+    static List<Map<String, Object>> sixMonthTrendOf(YearMonth lastMonth, List<MonthlyRollup> rollups) {
         List<Map<String, Object>> trendData = new ArrayList<>();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM");
 
-        // We need 7 months of data to calculate 6 months of trends
-        List<Double> incomeValues = new ArrayList<>();
-        List<Double> expenseValues = new ArrayList<>();
+        long[] incomeValues = new long[7];
+        long[] expenseValues = new long[7];
         List<String> monthNames = new ArrayList<>();
 
+        YearMonth firstMonth = lastMonth.minusMonths(6);
+        for (MonthlyRollup rollup : rollups) {
+            int index = (int) firstMonth.until(YearMonth.from(rollup.getMonth()), ChronoUnit.MONTHS);
+            long[] target = MonthlyRollup.REVENUE.equals(rollup.getKind()) ? incomeValues : expenseValues;
+            target[index] += rollup.getTotal();
+        }
+
         for (int i = 6; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.from(latestDate).minusMonths(i);
-            LocalDate start = yearMonth.atDay(1);
-            LocalDate end = yearMonth.atEndOfMonth();
-
-            double monthlyIncome = revenueRepository.findByUserIdAndDateBetween(userId, start, end).stream()
-                .mapToDouble(Revenue::getAmount).sum();
-                
-            double monthlyExpense = expenseRepository.findByUserIdAndDateBetween(userId, start, end).stream()
-                .mapToDouble(Expense::getAmount).sum();
-            
-            incomeValues.add(monthlyIncome);
-            expenseValues.add(monthlyExpense);
-            monthNames.add(yearMonth.format(formatter));
+            monthNames.add(lastMonth.minusMonths(i).format(formatter));
         }
 
         // Calculate trends for indices 1 to 6 (last 6 months)
         for (int i = 1; i < 7; i++) {
-            double prevIncome = incomeValues.get(i-1);
-            double currIncome = incomeValues.get(i);
-            double incomeGrowth = calculateTrend(currIncome, prevIncome);
-
-            double prevExpense = expenseValues.get(i-1);
-            double currExpense = expenseValues.get(i);
-            double expenseGrowth = calculateTrend(currExpense, prevExpense);
+            double incomeGrowth = Money.growth(incomeValues[i], incomeValues[i-1]);
+            double expenseGrowth = Money.growth(expenseValues[i], expenseValues[i-1]);
 
             Map<String, Object> point = new HashMap<>();
             point.put("month", monthNames.get(i));
@@ -156,17 +141,186 @@ public class ReportService {
             point.put("expense", expenseGrowth);
             trendData.add(point);
         }
-        
+
+        return trendData;
+    }
+
+    /**
+     * Returns income and expense per bucket between from and to (widened to whole buckets),
+     * with growth percentages against the preceding bucket. Empty buckets are filled with zeros.
+     * Missing bounds default to the six buckets ending at the latest data date.
+     */
+    public List<Map<String, Object>> getTrend(LocalDate from, LocalDate to, String granularityParam) {
+        String userId = getCurrentUserId();
+        TrendGranularity granularity = TrendGranularity.from(granularityParam);
+        LocalDate end = to != null ? to : findLatestTransactionDate(userId);
+        TrendWindow window = TrendWindow.of(from, end, granularity);
+
+        return reportCache.get(userId, window.cacheKey(), () -> trendOf(window,
+            reportAggregationRepository.getTrendBuckets(userId, window.previousBucket(), window.rangeEnd(), granularity)));
+    }
+
+    /**
+     * The buckets a trend request covers, plus one leading bucket so the first visible
+     * bucket also gets a growth value.
+     */
+    record TrendWindow(TrendGranularity granularity, LocalDate previousBucket, LocalDate firstBucket, LocalDate lastBucket) {
+
+        static TrendWindow of(LocalDate from, LocalDate end, TrendGranularity granularity) {
+            LocalDate start = from != null ? from : granularity.plus(granularity.truncate(end), -5);
+            if (start.isAfter(end)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'.");
+            }
+
+            LocalDate firstBucket = granularity.truncate(start);
+            TrendWindow window = new TrendWindow(granularity, granularity.plus(firstBucket, -1),
+                firstBucket, granularity.truncate(end));
+            if (window.size() > MAX_TREND_BUCKETS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range too large for granularity. Maximum is " + MAX_TREND_BUCKETS + " buckets.");
+            }
+            return window;
+        }
+
+        // Last day of the last bucket
+        LocalDate rangeEnd() {
+            return granularity.plus(lastBucket, 1).minusDays(1);
+        }
+
+        String cacheKey() {
+            return "trend:" + granularity + ":" + firstBucket + ":" + lastBucket;
+        }
+
+        // Number of buckets including the leading one, counting stops just past the maximum
+        int size() {
+            int count = 0;
+            for (LocalDate bucket = previousBucket; !bucket.isAfter(lastBucket) && count <= MAX_TREND_BUCKETS; bucket = granularity.plus(bucket, 1)) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    static List<Map<String, Object>> trendOf(TrendWindow window, List<TrendBucket> buckets) {
+        TrendGranularity granularity = window.granularity();
+
+        // Buckets are contiguous from previousBucket, so totals live in primitive arrays indexed by position
+        int size = window.size();
+        long[] incomeByBucket = new long[size];
+        long[] expenseByBucket = new long[size];
+        Map<LocalDate, Integer> indexOf = new HashMap<>();
+        LocalDate bucket = window.previousBucket();
+        for (int i = 0; i < size; i++, bucket = granularity.plus(bucket, 1)) {
+            indexOf.put(bucket, i);
+        }
+        for (TrendBucket row : buckets) {
+            Integer index = indexOf.get(row.period());
+            if (index != null) {
+                long[] target = MonthlyRollup.REVENUE.equals(row.kind()) ? incomeByBucket : expenseByBucket;
+                target[index] += row.total();
+            }
+        }
+
+        List<Map<String, Object>> trendData = new ArrayList<>();
+        bucket = window.firstBucket();
+        for (int i = 1; i < size; i++, bucket = granularity.plus(bucket, 1)) {
+            long income = incomeByBucket[i];
+            long expense = expenseByBucket[i];
+
+            Map<String, Object> point = new HashMap<>();
+            point.put("period", bucket.toString());
+            point.put("label", granularity.label(bucket));
+            point.put("income", Money.toMajor(income));
+            point.put("expense", Money.toMajor(expense));
+            point.put("incomeGrowth", Money.growth(income, incomeByBucket[i - 1]));
+            point.put("expenseGrowth", Money.growth(expense, expenseByBucket[i - 1]));
+            trendData.add(point);
+        }
         return trendData;
     }
 
     public Map<String, Double> getCategoryBreakdown() {
         String userId = getCurrentUserId();
-        List<Expense> allUserExpenses = expenseRepository.findByUserId(userId); 
-        return allUserExpenses.stream()
-            .collect(Collectors.groupingBy(
-                Expense::getCategory, 
-                Collectors.summingDouble(Expense::getAmount)
-            ));
+        return reportCache.get(userId, "breakdown", () ->
+            categoryTotalsOf(monthlyRollupRepository.findByUserIdAndKind(userId, MonthlyRollup.EXPENSE)));
+    }
+
+    static Map<String, Double> categoryTotalsOf(List<MonthlyRollup> expenseRollups) {
+        Map<String, long[]> totals = new HashMap<>();
+        for (MonthlyRollup rollup : expenseRollups) {
+            totals.computeIfAbsent(rollup.getKey(), key -> new long[1])[0] += rollup.getTotal();
+        }
+        Map<String, Double> breakdown = new HashMap<>();
+        totals.forEach((key, total) -> breakdown.put(key, Money.toMajor(total[0])));
+        return breakdown;
+    }
+
+    /**
+     * Returns the top categories (or revenue sources) by total within an optional date range,
+     * with everything below the top "limit" folded into an "other" bucket.
+     */
+    public Map<String, Object> getBreakdown(String kind, LocalDate from, LocalDate to, int limit) {
+        String userId = getCurrentUserId();
+        String breakdownKind = breakdownKind(kind, from, to, limit);
+
+        String cacheKey = "breakdown:" + breakdownKind + ":" + from + ":" + to + ":" + limit;
+        return reportCache.get(userId, cacheKey, () -> breakdownOf(breakdownKind, from, to,
+            reportAggregationRepository.getBreakdown(userId, breakdownKind, from, to, limit)));
+    }
+
+    // Validates the breakdown parameters and returns the normalized kind
+    static String breakdownKind(String kind, LocalDate from, LocalDate to, int limit) {
+        String breakdownKind = kind == null ? MonthlyRollup.EXPENSE : kind.trim().toLowerCase();
+        if (!MonthlyRollup.EXPENSE.equals(breakdownKind) && !MonthlyRollup.REVENUE.equals(breakdownKind)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid kind. Use 'expense' or 'revenue'.");
+        }
+        if (limit < 1 || limit > MAX_BREAKDOWN_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_BREAKDOWN_LIMIT + ".");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'.");
+        }
+        return breakdownKind;
+    }
+
+    static Map<String, Object> breakdownOf(String breakdownKind, LocalDate from, LocalDate to, Breakdown breakdown) {
+        String nameKey = MonthlyRollup.REVENUE.equals(breakdownKind) ? "source" : "category";
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        long total = 0;
+        for (BreakdownItem item : breakdown.items()) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put(nameKey, item.name());
+            entry.put("total", Money.toMajor(item.total()));
+            entry.put("count", item.count());
+            items.add(entry);
+            total += item.total();
+        }
+        total += breakdown.other().total();
+
+        Map<String, Object> other = new HashMap<>();
+        other.put("total", Money.toMajor(breakdown.other().total()));
+        other.put("count", breakdown.other().count());
+        other.put(nameKey.equals("source") ? "sources" : "categories", breakdown.otherKeys());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("kind", breakdownKind);
+        result.put("from", from != null ? from.toString() : null);
+        result.put("to", to != null ? to.toString() : null);
+        result.put("items", items);
+        result.put("other", other);
+        result.put("total", Money.toMajor(total));
+        return result;
+    }
+
+    /**
+     * Recomputes the current user's monthly rollups and watermark from their raw transactions.
+     */
+    public void rebuildRollups() {
+        reportUpdateService.rebuild(getCurrentUserId());
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return reportCache.getStats();
     }
 }
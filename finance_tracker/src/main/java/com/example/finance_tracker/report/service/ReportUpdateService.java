@@ -0,0 +1,81 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.TransactionEntry;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Single entry point for keeping report state in step with transaction writes:
+ * monthly rollups, the date watermark, the per-user report cache and the data version behind ETags.
+ * ExpenseService and RevenueService call it after each successful save or delete.
+ */
+@Service
+public class ReportUpdateService {
+
+    private final RollupService rollupService;
+    private final WatermarkService watermarkService;
+    private final ReportCache reportCache;
+    private final DataVersionService dataVersionService;
+
+    public ReportUpdateService(RollupService rollupService, WatermarkService watermarkService,
+                               ReportCache reportCache, DataVersionService dataVersionService) {
+        this.rollupService = rollupService;
+        this.watermarkService = watermarkService;
+        this.reportCache = reportCache;
+        this.dataVersionService = dataVersionService;
+    }
+
+    public void transactionAdded(String userId, String kind, String key, LocalDate date, long amount) {
+        rollupService.add(userId, kind, key, date, amount);
+        watermarkService.added(userId, kind, date);
+        invalidate(userId);
+    }
+
+    /**
+     * Batch variant of transactionAdded for bulk imports.
+     */
+    public void transactionsAdded(String userId, String kind, List<TransactionEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        rollupService.addAll(userId, kind, entries);
+        LocalDate earliest = entries.get(0).date();
+        LocalDate latest = earliest;
+        for (TransactionEntry entry : entries) {
+            if (entry.date().isBefore(earliest)) earliest = entry.date();
+            if (entry.date().isAfter(latest)) latest = entry.date();
+        }
+        watermarkService.addedAll(userId, kind, entries.size(), earliest, latest);
+        invalidate(userId);
+    }
+
+    public void transactionUpdated(String userId, String kind,
+                                   String oldKey, LocalDate oldDate, long oldAmount,
+                                   String newKey, LocalDate newDate, long newAmount) {
+        rollupService.replace(userId, kind, oldKey, oldDate, oldAmount, newKey, newDate, newAmount);
+        watermarkService.moved(userId, oldDate, newDate);
+        invalidate(userId);
+    }
+
+    public void transactionRemoved(String userId, String kind, String key, LocalDate date, long amount) {
+        rollupService.remove(userId, kind, key, date, amount);
+        watermarkService.removed(userId, kind, date);
+        invalidate(userId);
+    }
+
+    /**
+     * Repair: rebuilds the user's rollups and watermark from the raw transactions.
+     */
+    public void rebuild(String userId) {
+        rollupService.rebuild(userId);
+        watermarkService.recompute(userId);
+        invalidate(userId);
+    }
+
+    private void invalidate(String userId) {
+        reportCache.invalidate(userId);
+        dataVersionService.bump(userId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TransactionEntry;
+import com.example.finance_tracker.report.repository.MonthlyRollupRepository;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the monthly_rollups collection in step with expense and revenue writes.
+ * Every change is an atomic $inc upsert, so concurrent writers never lose updates.
+ */
+@Service
+public class RollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final ReportAggregationRepository reportAggregationRepository;
+
+    public RollupService(MongoTemplate mongoTemplate,
+                         MonthlyRollupRepository monthlyRollupRepository,
+                         ReportAggregationRepository reportAggregationRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.reportAggregationRepository = reportAggregationRepository;
+    }
+
+    public void add(String userId, String kind, String key, LocalDate date, long amount) {
+        increment(userId, kind, key, date, 1, amount);
+    }
+
+    public void remove(String userId, String kind, String key, LocalDate date, long amount) {
+        increment(userId, kind, key, date, -1, -amount);
+    }
+
+    /**
+     * Moves a transaction from its old bucket to its new one.
+     * When the month and key are unchanged only the amount delta is applied.
+     */
+    public void replace(String userId, String kind,
+                        String oldKey, LocalDate oldDate, long oldAmount,
+                        String newKey, LocalDate newDate, long newAmount) {
+        if (Objects.equals(oldKey, newKey) && YearMonth.from(oldDate).equals(YearMonth.from(newDate))) {
+            if (oldAmount != newAmount) {
+                increment(userId, kind, newKey, newDate, 0, newAmount - oldAmount);
+            }
+            return;
+        }
+        remove(userId, kind, oldKey, oldDate, oldAmount);
+        add(userId, kind, newKey, newDate, newAmount);
+    }
+
+    /**
+     * Applies many additions at once: entries are summed per bucket in memory and written
+     * as one unordered bulk of $inc upserts, one per (month, key).
+     */
+    public void addAll(String userId, String kind, List<TransactionEntry> entries) {
+        Map<String, BucketDelta> deltas = new HashMap<>();
+        for (TransactionEntry entry : entries) {
+            YearMonth month = YearMonth.from(entry.date());
+            BucketDelta delta = deltas.computeIfAbsent(MonthlyRollup.idOf(userId, kind, month, entry.key()),
+                id -> new BucketDelta(entry.key(), month));
+            delta.count++;
+            delta.total += entry.amount();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlyRollup.class);
+        deltas.forEach((id, delta) -> bulk.upsert(new Query(Criteria.where("_id").is(id)),
+            bucketUpdate(userId, kind, delta.key, delta.month, delta.count, delta.total)));
+        bulk.execute();
+    }
+
+    /**
+     * Repair command: recomputes the user's rollup rows from the raw transactions in place.
+     */
+    public void rebuild(String userId) {
+        reportAggregationRepository.rebuildRollups(userId);
+    }
+
+    public void rebuildAll() {
+        logger.info("Rebuilding monthly rollups for all users");
+        reportAggregationRepository.rebuildRollups(null);
+    }
+
+    public boolean isEmpty() {
+        return monthlyRollupRepository.count() == 0;
+    }
+
+    private static Update bucketUpdate(String userId, String kind, String key, YearMonth month, long count, long amount) {
+        return new Update()
+            .inc("count", count)
+            .inc("total", amount)
+            .currentDate("updatedAt")
+            .setOnInsert("userId", userId)
+            .setOnInsert("kind", kind)
+            .setOnInsert("key", key)
+            .setOnInsert("month", month.atDay(1));
+    }
+
+    private void increment(String userId, String kind, String key, LocalDate date, long count, long amount) {
+        YearMonth month = YearMonth.from(date);
+        String id = MonthlyRollup.idOf(userId, kind, month, key);
+
+        Update update = bucketUpdate(userId, kind, key, month, count, amount);
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(id)), update, MonthlyRollup.class);
+
+        // Drop buckets that no longer hold any transaction
+        if (count < 0) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(id).and("count").lte(0)), MonthlyRollup.class);
+        }
+    }
+
+    private static final class BucketDelta {
+        private final String key;
+        private final YearMonth month;
+        private long count;
+        private long total;
+
+        private BucketDelta(String key, YearMonth month) {
+            this.key = key;
+            this.month = month;
+        }
+    }
+}
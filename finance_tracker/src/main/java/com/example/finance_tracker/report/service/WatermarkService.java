@@ -0,0 +1,137 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TransactionWatermark;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.DateStats;
+import com.example.finance_tracker.report.repository.TransactionWatermarkRepository;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Maintains the per-user transaction watermark. Additions only widen the date bounds,
+ * so they are applied atomically with $max/$min; removing or moving a transaction that
+ * sat on a bound triggers a recompute from the raw collections.
+ */
+@Service
+public class WatermarkService {
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionWatermarkRepository watermarkRepository;
+    private final ReportAggregationRepository reportAggregationRepository;
+    private final ReportQueryExecutor reportQueryExecutor;
+
+    public WatermarkService(MongoTemplate mongoTemplate,
+                            TransactionWatermarkRepository watermarkRepository,
+                            ReportAggregationRepository reportAggregationRepository,
+                            ReportQueryExecutor reportQueryExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.watermarkRepository = watermarkRepository;
+        this.reportAggregationRepository = reportAggregationRepository;
+        this.reportQueryExecutor = reportQueryExecutor;
+    }
+
+    /**
+     * Latest transaction date for the user, or today when the user has no data.
+     */
+    public LocalDate getLatestDate(String userId) {
+        TransactionWatermark watermark = watermarkRepository.findById(userId)
+            .orElseGet(() -> recompute(userId));
+        return watermark.getLatestDate() != null ? watermark.getLatestDate() : LocalDate.now();
+    }
+
+    public void added(String userId, String kind, LocalDate date) {
+        Update update = new Update()
+            .max("latestDate", date)
+            .min("earliestDate", date)
+            .inc(countField(kind), 1);
+        // No watermark yet means it was never seeded, so build it from the data instead of upserting
+        if (mongoTemplate.updateFirst(byUser(userId), update, TransactionWatermark.class).getMatchedCount() == 0) {
+            recompute(userId);
+        }
+    }
+
+    /**
+     * Widens the watermark for a batch of new transactions in one update.
+     */
+    public void addedAll(String userId, String kind, long count, LocalDate earliest, LocalDate latest) {
+        Update update = new Update()
+            .max("latestDate", latest)
+            .min("earliestDate", earliest)
+            .inc(countField(kind), count);
+        if (mongoTemplate.updateFirst(byUser(userId), update, TransactionWatermark.class).getMatchedCount() == 0) {
+            recompute(userId);
+        }
+    }
+
+    public void removed(String userId, String kind, LocalDate date) {
+        TransactionWatermark watermark = mongoTemplate.findAndModify(byUser(userId),
+            new Update().inc(countField(kind), -1),
+            FindAndModifyOptions.options().returnNew(true),
+            TransactionWatermark.class);
+        if (watermark == null || isBound(watermark, date)) {
+            recompute(userId);
+        }
+    }
+
+    public void moved(String userId, LocalDate oldDate, LocalDate newDate) {
+        if (oldDate.equals(newDate)) {
+            return;
+        }
+        // Returns the watermark as it was before widening, to check whether oldDate was a bound
+        TransactionWatermark previous = mongoTemplate.findAndModify(byUser(userId),
+            new Update().max("latestDate", newDate).min("earliestDate", newDate),
+            TransactionWatermark.class);
+        if (previous == null || isBound(previous, oldDate)) {
+            recompute(userId);
+        }
+    }
+
+    /**
+     * Rebuilds the watermark from both transaction collections, querying them concurrently.
+     */
+    public TransactionWatermark recompute(String userId) {
+        return reportQueryExecutor.both(
+            () -> reportAggregationRepository.getDateStats(ReportAggregationRepository.EXPENSES, userId),
+            () -> reportAggregationRepository.getDateStats(ReportAggregationRepository.REVENUES, userId),
+            (expenses, revenues) -> {
+                TransactionWatermark watermark = new TransactionWatermark();
+                watermark.setUserId(userId);
+                watermark.setLatestDate(later(expenses.latest(), revenues.latest()));
+                watermark.setEarliestDate(earlier(expenses.earliest(), revenues.earliest()));
+                watermark.setExpenseCount(expenses.count());
+                watermark.setRevenueCount(revenues.count());
+                return watermarkRepository.save(watermark);
+            });
+    }
+
+    private static Query byUser(String userId) {
+        return new Query(Criteria.where("_id").is(userId));
+    }
+
+    private static String countField(String kind) {
+        return MonthlyRollup.REVENUE.equals(kind) ? "revenueCount" : "expenseCount";
+    }
+
+    private static boolean isBound(TransactionWatermark watermark, LocalDate date) {
+        return date.equals(watermark.getLatestDate()) || date.equals(watermark.getEarliestDate());
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.finance_tracker.revenue.controller;
+
+import com.example.finance_tracker.revenue.model.Revenue;
+import com.example.finance_tracker.revenue.service.ReactiveRevenueService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+
+// Non-blocking RevenueController for the reactive profile, same paths and payloads
+@RestController
+@RequestMapping("/api/revenues")
+@PreAuthorize("hasRole('USER')") // Apply base security to all methods in this controller
+@Profile("reactive")
+public class ReactiveRevenueController {
+
+    private final ReactiveRevenueService revenueService;
+    private final boolean legacyListEnabled;
+
+    public ReactiveRevenueController(ReactiveRevenueService revenueService,
+                                     @Value("${app.pagination.legacy-list-enabled:true}") boolean legacyListEnabled) {
+        this.revenueService = revenueService;
+        this.legacyListEnabled = legacyListEnabled;
+    }
+
+    // Paginated when cursor or limit is given; otherwise the full list, streamed as a JSON array.
+    // Declared as Object so WebFlux picks the adapter from the actual Mono or Flux returned.
+    @GetMapping
+    public Object getRevenues(
+        @RequestParam(required = false) LocalDate startDate,
+        @RequestParam(required = false) LocalDate endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (cursor != null || limit != null || !legacyListEnabled) {
+            return revenueService.getRevenuesPage(startDate, endDate, cursor, limit);
+        }
+        return revenueService.getRevenues(startDate, endDate);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Revenue> getRevenue(@PathVariable String id) {
+        return revenueService.getRevenue(id);
+    }
+
+    @PostMapping
+    public Mono<Revenue> createRevenue(@Valid @RequestBody Revenue revenue) {
+        return revenueService.saveRevenue(revenue);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Revenue> updateRevenue(@PathVariable String id, @Valid @RequestBody Revenue revenue) {
+        return revenueService.updateRevenue(id, revenue);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteRevenue(@PathVariable String id) {
+        return revenueService.deleteRevenue(id).thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+}
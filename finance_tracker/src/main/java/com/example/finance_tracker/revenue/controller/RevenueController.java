@@ -2,6 +2,9 @@ package com.example.finance_tracker.revenue.controller;
 
 import com.example.finance_tracker.revenue.model.Revenue;
 import com.example.finance_tracker.revenue.service.RevenueService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -13,19 +16,40 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/revenues")
 @PreAuthorize("hasRole('USER')") // Apply base security to all methods in this controller
+@Profile("!reactive")
 public class RevenueController {
 
     private final RevenueService revenueService;
+    private final boolean legacyListEnabled;
+    private final boolean streamingEnabled;
 
-    public RevenueController(RevenueService revenueService) {
+    public RevenueController(RevenueService revenueService,
+                             @Value("${app.pagination.legacy-list-enabled:true}") boolean legacyListEnabled,
+                             @Value("${app.lists.streaming-enabled:true}") boolean streamingEnabled) {
         this.revenueService = revenueService;
+        this.legacyListEnabled = legacyListEnabled;
+        this.streamingEnabled = streamingEnabled;
     }
 
+    // Paginated when cursor or limit is given; otherwise the legacy full list unless disabled
     @GetMapping
-    public ResponseEntity<List<Revenue>> getRevenues(
-        @RequestParam(required = false) LocalDate startDate,
-        @RequestParam(required = false) LocalDate endDate
+    public ResponseEntity<?> getRevenues(
+        @RequestParam(required = false) LocalDate startDate, 
+        @RequestParam(required = false) LocalDate endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
     ) {
+        if (cursor != null || limit != null || !legacyListEnabled) {
+            return ResponseEntity.ok(revenueService.getRevenuesPage(startDate, endDate, cursor, limit));
+        }
+
+        // The full list can be large: stream it instead of building List<Revenue> and its JSON in memory
+        if (streamingEnabled) {
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(revenueService.streamRevenues(startDate, endDate));
+        }
+
         List<Revenue> revenues;
         
         if (startDate != null && endDate != null) {
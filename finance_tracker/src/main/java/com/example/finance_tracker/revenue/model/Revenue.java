@@ -1,5 +1,7 @@
 package com.example.finance_tracker.revenue.model;
 
+import com.example.finance_tracker.common.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDate;
@@ -14,9 +16,9 @@ public class Revenue {
     // CRITICAL: Links the revenue to the user who created it
     private String userId; 
 
-    @NotNull(message = "Amount is required.")
-    @DecimalMin(value = "0.01", message = "Amount must be greater than zero.")
-    private double amount;
+    // Stored as minor units (cents) so sums are exact; exposed to JSON as a decimal "amount"
+    @Min(value = 1, message = "Amount must be greater than zero.")
+    private long amount;
 
     @NotBlank(message = "Source is required.")
     @Size(max = 50, message = "Source cannot exceed 50 characters.")
@@ -37,8 +39,13 @@ public class Revenue {
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
-    public double getAmount() { return amount; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public double getAmount() { return Money.toMajor(amount); }
+    public void setAmount(double amount) { this.amount = Money.toMinor(amount); }
+
+    @JsonIgnore
+    public long getAmountMinor() { return amount; }
+    @JsonIgnore
+    public void setAmountMinor(long amountMinor) { this.amount = amountMinor; }
 
     public String getSource() { return source; }
     public void setSource(String source) { this.source = source; }
@@ -0,0 +1,19 @@
+package com.example.finance_tracker.revenue.repository;
+
+import com.example.finance_tracker.revenue.model.Revenue;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import java.time.LocalDate;
+
+// Non-blocking counterpart of RevenueRepository, used by the reactive profile
+@Profile("reactive")
+public interface ReactiveRevenueRepository extends ReactiveMongoRepository<Revenue, String> {
+
+    Flux<Revenue> findByUserId(String userId);
+
+    //Find revenues for a user between two dates (Inclusive)
+    @Query("{ 'userId' : ?0, 'date' : { $gte: ?1, $lte: ?2 } }")
+    Flux<Revenue> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+}
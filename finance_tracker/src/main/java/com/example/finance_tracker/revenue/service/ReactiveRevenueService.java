@@ -0,0 +1,114 @@
+package com.example.finance_tracker.revenue.service;
+
+import com.example.finance_tracker.common.CursorPage;
+import com.example.finance_tracker.common.KeysetPaginator;
+import com.example.finance_tracker.revenue.model.Revenue;
+import com.example.finance_tracker.revenue.repository.ReactiveRevenueRepository;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.service.ReportUpdateService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking RevenueService for the reactive profile. Reads and writes go through the
+ * reactive driver; the report update hook is still blocking, so it runs on boundedElastic
+ * and the response waits for it exactly like the servlet path does.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveRevenueService {
+
+    private final ReactiveRevenueRepository revenueRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReportUpdateService reportUpdateService;
+    private final KeysetPaginator keysetPaginator;
+
+    public ReactiveRevenueService(ReactiveRevenueRepository revenueRepository, ReactiveMongoTemplate reactiveMongoTemplate,
+                                  ReportUpdateService reportUpdateService, KeysetPaginator keysetPaginator) {
+        this.revenueRepository = revenueRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.reportUpdateService = reportUpdateService;
+        this.keysetPaginator = keysetPaginator;
+    }
+
+    private Mono<String> getCurrentUserId() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(context -> context.getAuthentication().getName());
+    }
+
+    public Mono<Revenue> saveRevenue(Revenue revenue) {
+        return getCurrentUserId().flatMap(userId -> {
+            revenue.setUserId(userId);
+            return revenueRepository.save(revenue);
+        }).flatMap(savedRevenue -> blocking(() -> reportUpdateService.transactionAdded(savedRevenue.getUserId(),
+            MonthlyRollup.REVENUE, savedRevenue.getSource(), savedRevenue.getDate(), savedRevenue.getAmountMinor()))
+            .thenReturn(savedRevenue));
+    }
+
+    // Emitted as the cursor is read, so the full list is never held in memory
+    public Flux<Revenue> getRevenues(LocalDate startDate, LocalDate endDate) {
+        return getCurrentUserId().flatMapMany(userId -> startDate != null && endDate != null
+            ? revenueRepository.findByUserIdAndDateBetween(userId, startDate, endDate)
+            : revenueRepository.findByUserId(userId));
+    }
+
+    // Keyset-paginated list ordered by date desc, id desc
+    public Mono<CursorPage<Revenue>> getRevenuesPage(LocalDate startDate, LocalDate endDate, String cursor, Integer limit) {
+        return getCurrentUserId().flatMap(userId -> {
+            Query query = keysetPaginator.query(userId, startDate, endDate, cursor, limit);
+            return reactiveMongoTemplate.find(query, Revenue.class).collectList()
+                .map(rows -> keysetPaginator.toPage(query, rows, Revenue::getDate, Revenue::getId));
+        });
+    }
+
+    public Mono<Revenue> getRevenue(String id) {
+        return findOwned(id);
+    }
+
+    public Mono<Revenue> updateRevenue(String id, Revenue updatedRevenue) {
+        return findOwned(id).flatMap(existingRevenue -> {
+            // Remember the old values so report state can be moved
+            String oldSource = existingRevenue.getSource();
+            LocalDate oldDate = existingRevenue.getDate();
+            long oldAmount = existingRevenue.getAmountMinor();
+
+            existingRevenue.setAmountMinor(updatedRevenue.getAmountMinor());
+            existingRevenue.setSource(updatedRevenue.getSource());
+            existingRevenue.setDate(updatedRevenue.getDate());
+
+            return revenueRepository.save(existingRevenue)
+                .flatMap(savedRevenue -> blocking(() -> reportUpdateService.transactionUpdated(savedRevenue.getUserId(), MonthlyRollup.REVENUE,
+                    oldSource, oldDate, oldAmount,
+                    savedRevenue.getSource(), savedRevenue.getDate(), savedRevenue.getAmountMinor()))
+                    .thenReturn(savedRevenue));
+        });
+    }
+
+    public Mono<Void> deleteRevenue(String id) {
+        return findOwned(id).flatMap(existingRevenue -> revenueRepository.deleteById(id)
+            .then(blocking(() -> reportUpdateService.transactionRemoved(existingRevenue.getUserId(), MonthlyRollup.REVENUE,
+                existingRevenue.getSource(), existingRevenue.getDate(), existingRevenue.getAmountMinor()))));
+    }
+
+    private Mono<Revenue> findOwned(String id) {
+        return revenueRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Revenue not found")))
+            .zipWith(getCurrentUserId())
+            .flatMap(owned -> owned.getT1().getUserId().equals(owned.getT2())
+                ? Mono.just(owned.getT1())
+                : Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied. Revenue does not belong to user.")));
+    }
+
+    private static Mono<Void> blocking(Runnable task) {
+        return Mono.fromRunnable(task).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.finance_tracker.revenue.service;
 
+import com.example.finance_tracker.common.CursorPage;
+import com.example.finance_tracker.common.JsonArrayWriter;
+import com.example.finance_tracker.common.KeysetPaginator;
 import com.example.finance_tracker.revenue.model.Revenue;
 import com.example.finance_tracker.revenue.repository.RevenueRepository;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.service.ReportUpdateService;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 
 import java.util.List;
@@ -14,9 +22,16 @@ import java.util.List;
 public class RevenueService {
 
     private final RevenueRepository revenueRepository;
+    private final ReportUpdateService reportUpdateService;
+    private final KeysetPaginator keysetPaginator;
+    private final JsonArrayWriter jsonArrayWriter;
 
-    public RevenueService(RevenueRepository revenueRepository) {
+    public RevenueService(RevenueRepository revenueRepository, ReportUpdateService reportUpdateService,
+                          KeysetPaginator keysetPaginator, JsonArrayWriter jsonArrayWriter) {
         this.revenueRepository = revenueRepository;
+        this.reportUpdateService = reportUpdateService;
+        this.keysetPaginator = keysetPaginator;
+        this.jsonArrayWriter = jsonArrayWriter;
     }
 
     private String getCurrentUserId() {
@@ -26,7 +41,9 @@ public class RevenueService {
     public Revenue saveRevenue(Revenue revenue) {
         String userId = getCurrentUserId();
         revenue.setUserId(userId); 
-        return revenueRepository.save(revenue);
+        Revenue savedRevenue = revenueRepository.save(revenue);
+        reportUpdateService.transactionAdded(userId, MonthlyRollup.REVENUE, savedRevenue.getSource(), savedRevenue.getDate(), savedRevenue.getAmountMinor());
+        return savedRevenue;
     }
 
     public List<Revenue> getRevenues() {
@@ -34,6 +51,26 @@ public class RevenueService {
         return revenueRepository.findByUserId(userId);
     }
 
+    /**
+     * Same result as getRevenues/getRevenuesBetweenDates, written as a JSON array straight from the cursor.
+     * The user is resolved here on the request thread; the body is written on an async thread.
+     */
+    public StreamingResponseBody streamRevenues(LocalDate startDate, LocalDate endDate) {
+        Criteria criteria = Criteria.where("userId").is(getCurrentUserId());
+        if (startDate != null && endDate != null) {
+            criteria = criteria.and("date").gte(startDate).lte(endDate);
+        }
+        Query query = new Query(criteria);
+        return out -> jsonArrayWriter.write(query, Revenue.class, out);
+    }
+
+    // Keyset-paginated list ordered by date desc, id desc
+    public CursorPage<Revenue> getRevenuesPage(LocalDate startDate, LocalDate endDate, String cursor, Integer limit) {
+        String userId = getCurrentUserId();
+        return keysetPaginator.page(Revenue.class, userId, startDate, endDate, cursor, limit,
+            Revenue::getDate, Revenue::getId);
+    }
+
     public Revenue getRevenue(String id) {
         Revenue revenue = revenueRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Revenue not found"));
@@ -60,11 +97,20 @@ public class RevenueService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied. Revenue does not belong to user.");
         }
 
-        existingRevenue.setAmount(updatedRevenue.getAmount());
+        // Remember the old values so report state can be moved
+        String oldSource = existingRevenue.getSource();
+        LocalDate oldDate = existingRevenue.getDate();
+        long oldAmount = existingRevenue.getAmountMinor();
+
+        existingRevenue.setAmountMinor(updatedRevenue.getAmountMinor());
         existingRevenue.setSource(updatedRevenue.getSource());
         existingRevenue.setDate(updatedRevenue.getDate());
         
-        return revenueRepository.save(existingRevenue);
+        Revenue savedRevenue = revenueRepository.save(existingRevenue);
+        reportUpdateService.transactionUpdated(savedRevenue.getUserId(), MonthlyRollup.REVENUE,
+            oldSource, oldDate, oldAmount,
+            savedRevenue.getSource(), savedRevenue.getDate(), savedRevenue.getAmountMinor());
+        return savedRevenue;
     }
 
     //Delete a revenue
@@ -78,5 +124,7 @@ public class RevenueService {
         }
 
         revenueRepository.deleteById(id);
+        reportUpdateService.transactionRemoved(existingRevenue.getUserId(), MonthlyRollup.REVENUE,
+            existingRevenue.getSource(), existingRevenue.getDate(), existingRevenue.getAmountMinor());
     }
 }
@@ -0,0 +1,41 @@
+package com.example.finance_tracker.transaction.controller;
+
+import com.example.finance_tracker.transaction.service.ImportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/transactions")
+@PreAuthorize("hasRole('USER')")
+@Profile("!reactive")
+public class TransactionImportController {
+
+    private final ImportService importService;
+
+    public TransactionImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    // Format is taken from the file extension (csv, ofx/qfx, qif) unless given explicitly
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> importTransactions(
+        @RequestParam("file") MultipartFile file,
+        @RequestParam(required = false) String format
+    ) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "File is empty."));
+        }
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(importService.importTransactions(userId, file, format));
+    }
+}
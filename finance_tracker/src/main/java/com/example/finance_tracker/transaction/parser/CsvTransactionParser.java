@@ -0,0 +1,125 @@
+package com.example.finance_tracker.transaction.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads CSV with a header row. Accepts the layout produced by /api/export
+ * (kind,id,date,amount,category,source,description) as well as plain bank statements
+ * without a kind column, where a negative amount is an expense and a positive one a revenue.
+ * Quoted fields may contain commas and doubled quotes but not line breaks.
+ */
+public class CsvTransactionParser implements TransactionParser {
+
+    @Override
+    public void parse(Reader reader, Consumer<ParsedRow> sink) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String headerLine = lines.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitLine(stripBom(headerLine));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+            sink.accept(ParsedRow.failed(1, "Header must contain 'date' and 'amount' columns."));
+            return;
+        }
+
+        int lineNumber = 1;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            sink.accept(toRow(lineNumber, columns, splitLine(line)));
+        }
+    }
+
+    private ParsedRow toRow(int line, Map<String, Integer> columns, List<String> fields) {
+        try {
+            String kind = ParserSupport.blankToNull(field(fields, columns, "kind", "type"));
+            String category = field(fields, columns, "category");
+            String source = field(fields, columns, "source");
+            String description = field(fields, columns, "description", "memo", "payee");
+            String dateField = field(fields, columns, "date");
+            String amountField = field(fields, columns, "amount");
+            // A row shorter than the header leaves these out
+            if (dateField == null || dateField.isBlank()) {
+                return ParsedRow.failed(line, "Missing 'date'.");
+            }
+            if (amountField == null || amountField.isBlank()) {
+                return ParsedRow.failed(line, "Missing 'amount'.");
+            }
+            LocalDate date = ParserSupport.parseDate(dateField);
+            long amount = ParserSupport.parseAmount(amountField);
+
+            if (kind == null) {
+                return ParserSupport.signedRow(line, date, amount, category, source != null ? source : description, description);
+            }
+            kind = kind.toLowerCase(Locale.ROOT);
+            if (ParserSupport.EXPENSE.equals(kind)) {
+                return new ParsedRow(line, kind, date, Math.abs(amount), category, null, description, null);
+            }
+            if (ParserSupport.REVENUE.equals(kind)) {
+                return new ParsedRow(line, kind, date, Math.abs(amount), null, source, null, null);
+            }
+            return ParsedRow.failed(line, "Unknown kind '" + kind + "'. Use 'expense' or 'revenue'.");
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.failed(line, e.getMessage());
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String... names) {
+        for (String name : names) {
+            Integer index = columns.get(name);
+            if (index != null && index < fields.size()) {
+                return fields.get(index);
+            }
+        }
+        return null;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
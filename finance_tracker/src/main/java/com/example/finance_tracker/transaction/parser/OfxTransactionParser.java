@@ -0,0 +1,75 @@
+package com.example.finance_tracker.transaction.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads &lt;STMTTRN&gt; entries from OFX statements, both the SGML (v1, unclosed tags)
+ * and XML (v2) flavours. The file is tokenized on '&lt;' as it streams in, so only the
+ * current transaction is held in memory.
+ */
+public class OfxTransactionParser implements TransactionParser {
+
+    @Override
+    public void parse(Reader reader, Consumer<ParsedRow> sink) throws IOException {
+        Map<String, String> transaction = null;
+        int transactionCount = 0;
+        StringBuilder token = new StringBuilder();
+        int c;
+        boolean inTag = false;
+        String currentTag = null;
+
+        while ((c = reader.read()) != -1) {
+            if (c == '<') {
+                if (currentTag != null && transaction != null) {
+                    String value = token.toString().trim();
+                    if (!value.isEmpty()) {
+                        transaction.put(currentTag, value);
+                    }
+                }
+                token.setLength(0);
+                inTag = true;
+            } else if (c == '>' && inTag) {
+                String tag = token.toString().trim().toUpperCase(Locale.ROOT);
+                token.setLength(0);
+                inTag = false;
+                currentTag = null;
+                if (tag.equals("STMTTRN")) {
+                    transaction = new HashMap<>();
+                } else if (tag.equals("/STMTTRN")) {
+                    if (transaction != null) {
+                        transactionCount++;
+                        sink.accept(toRow(transactionCount, transaction));
+                    }
+                    transaction = null;
+                } else if (!tag.startsWith("/")) {
+                    currentTag = tag;
+                }
+            } else {
+                token.append((char) c);
+            }
+        }
+    }
+
+    // OFX has no meaningful line numbers, so rows are numbered by transaction
+    private ParsedRow toRow(int index, Map<String, String> transaction) {
+        String posted = transaction.get("DTPOSTED");
+        String amount = transaction.get("TRNAMT");
+        if (posted == null || amount == null) {
+            return ParsedRow.failed(index, "Transaction is missing DTPOSTED or TRNAMT.");
+        }
+        try {
+            // DTPOSTED is YYYYMMDD optionally followed by time and timezone
+            LocalDate date = ParserSupport.parseDate(posted.length() >= 8 ? posted.substring(0, 8) : posted);
+            long parsedAmount = ParserSupport.parseAmount(amount.replace(",", "."));
+            return ParserSupport.signedRow(index, date, parsedAmount, null, transaction.get("NAME"), transaction.get("MEMO"));
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.failed(index, e.getMessage());
+        }
+    }
+}
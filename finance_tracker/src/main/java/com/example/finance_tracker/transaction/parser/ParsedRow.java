@@ -0,0 +1,25 @@
+package com.example.finance_tracker.transaction.parser;
+
+import java.time.LocalDate;
+
+/**
+ * One transaction read from an uploaded statement, or the reason it could not be read.
+ * kind is "expense" or "revenue"; amount is always positive, in minor units (cents).
+ */
+public record ParsedRow(int line,
+                        String kind,
+                        LocalDate date,
+                        long amount,
+                        String category,
+                        String source,
+                        String description,
+                        String error) {
+
+    public static ParsedRow failed(int line, String error) {
+        return new ParsedRow(line, null, null, 0, null, null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
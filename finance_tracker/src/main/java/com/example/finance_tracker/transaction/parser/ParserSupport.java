@@ -0,0 +1,80 @@
+package com.example.finance_tracker.transaction.parser;
+
+import com.example.finance_tracker.common.Money;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Value parsing shared by the statement parsers.
+ */
+final class ParserSupport {
+
+    static final String EXPENSE = "expense";
+    static final String REVENUE = "revenue";
+    static final String DEFAULT_CATEGORY = "Uncategorized";
+    static final String DEFAULT_SOURCE = "Imported";
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("M/d/yyyy"),
+        DateTimeFormatter.ofPattern("d.M.yyyy"),
+        DateTimeFormatter.BASIC_ISO_DATE
+    );
+
+    private ParserSupport() {}
+
+    static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing date.");
+        }
+        String trimmed = value.trim();
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(trimmed, format);
+            } catch (DateTimeParseException ignored) {
+                // Try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized date '" + value + "'.");
+    }
+
+    // Parsed as a decimal straight into minor units, never through a double
+    static long parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing amount.");
+        }
+        try {
+            return Money.parse(value.trim().replace(" ", ""));
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount '" + value + "'.");
+        }
+    }
+
+    static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a row from a signed bank amount: negative is money out (expense), positive money in (revenue).
+     */
+    static ParsedRow signedRow(int line, LocalDate date, long signedAmount, String category, String payee, String memo) {
+        if (signedAmount < 0) {
+            return new ParsedRow(line, EXPENSE, date, -signedAmount,
+                firstNonBlank(category, DEFAULT_CATEGORY), null, firstNonBlank(payee, memo, "Imported"), null);
+        }
+        return new ParsedRow(line, REVENUE, date, signedAmount,
+            null, firstNonBlank(payee, category, DEFAULT_SOURCE), null, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.finance_tracker.transaction.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Reads Quicken Interchange Format bank records: D (date), T/U (signed amount),
+ * P (payee), M (memo), L (category), terminated by '^'. Header lines starting with '!' are skipped.
+ */
+public class QifTransactionParser implements TransactionParser {
+
+    @Override
+    public void parse(Reader reader, Consumer<ParsedRow> sink) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        int lineNumber = 0;
+        int recordStart = 1;
+        String date = null;
+        String amount = null;
+        String payee = null;
+        String memo = null;
+        String category = null;
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("!")) {
+                recordStart = lineNumber + 1;
+                continue;
+            }
+            char code = line.charAt(0);
+            String value = line.substring(1).trim();
+            switch (code) {
+                case 'D' -> date = value;
+                case 'T', 'U' -> amount = value;
+                case 'P' -> payee = value;
+                case 'M' -> memo = value;
+                case 'L' -> category = value;
+                case '^' -> {
+                    sink.accept(toRow(recordStart, date, amount, payee, memo, category));
+                    date = amount = payee = memo = category = null;
+                    recordStart = lineNumber + 1;
+                }
+                default -> {
+                    // Other QIF fields (cleared status, check number, splits) are not imported
+                }
+            }
+        }
+    }
+
+    private ParsedRow toRow(int line, String date, String amount, String payee, String memo, String category) {
+        if (date == null || amount == null) {
+            return ParsedRow.failed(line, "Record is missing a date (D) or amount (T).");
+        }
+        try {
+            LocalDate parsedDate = ParserSupport.parseDate(normalizeQifDate(date));
+            long parsedAmount = ParserSupport.parseAmount(amount.replace(",", ""));
+            return ParserSupport.signedRow(line, parsedDate, parsedAmount, category, payee, memo);
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.failed(line, e.getMessage());
+        }
+    }
+
+    // QIF often writes two-digit years as M/D'YY (e.g. 1/31'24)
+    private static String normalizeQifDate(String date) {
+        int apostrophe = date.indexOf('\'');
+        if (apostrophe < 0) {
+            return date;
+        }
+        return date.substring(0, apostrophe) + "/20" + date.substring(apostrophe + 1).trim();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.finance_tracker.transaction.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Streams rows out of an uploaded statement without holding the whole file in memory.
+ */
+public interface TransactionParser {
+
+    void parse(Reader reader, Consumer<ParsedRow> sink) throws IOException;
+}
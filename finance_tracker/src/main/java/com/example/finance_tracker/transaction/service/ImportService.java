@@ -0,0 +1,206 @@
+package com.example.finance_tracker.transaction.service;
+
+import com.example.finance_tracker.expense.model.Expense;
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TransactionEntry;
+import com.example.finance_tracker.report.service.ReportUpdateService;
+import com.example.finance_tracker.revenue.model.Revenue;
+import com.example.finance_tracker.transaction.parser.CsvTransactionParser;
+import com.example.finance_tracker.transaction.parser.OfxTransactionParser;
+import com.example.finance_tracker.transaction.parser.ParsedRow;
+import com.example.finance_tracker.transaction.parser.QifTransactionParser;
+import com.example.finance_tracker.transaction.parser.TransactionParser;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk-imports expenses and revenues from uploaded statements (CSV, OFX/QFX, QIF).
+ * Rows are parsed as a stream, validated against the same constraints as the CRUD endpoints
+ * and written with unordered bulk inserts in batches, so one bad row never blocks the rest.
+ */
+@Service
+public class ImportService {
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final ReportUpdateService reportUpdateService;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ImportService(MongoTemplate mongoTemplate,
+                         Validator validator,
+                         ReportUpdateService reportUpdateService,
+                         @Value("${app.import.batch-size:1000}") int batchSize,
+                         @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.reportUpdateService = reportUpdateService;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public Map<String, Object> importTransactions(String userId, MultipartFile file, String format) {
+        TransactionParser parser = parserFor(format, file.getOriginalFilename());
+        ImportRun run = new ImportRun(userId);
+
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            parser.parse(reader, run::accept);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read uploaded file.");
+        }
+        run.flush();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("imported", run.imported);
+        result.put("failed", run.failed);
+        result.put("errors", run.errors);
+        result.put("errorsTruncated", run.failed > run.errors.size());
+        return result;
+    }
+
+    private TransactionParser parserFor(String format, String fileName) {
+        String type = format;
+        if (type == null || type.isBlank()) {
+            int dot = fileName != null ? fileName.lastIndexOf('.') : -1;
+            type = dot >= 0 ? fileName.substring(dot + 1) : "csv";
+        }
+        return switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> new CsvTransactionParser();
+            case "ofx", "qfx" -> new OfxTransactionParser();
+            case "qif" -> new QifTransactionParser();
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Unsupported format. Use csv, ofx or qif.");
+        };
+    }
+
+    /**
+     * State of one import: the pending batch per collection and the running error report.
+     */
+    private final class ImportRun {
+        private final String userId;
+        private final List<Expense> expenses = new ArrayList<>();
+        private final List<Integer> expenseLines = new ArrayList<>();
+        private final List<Revenue> revenues = new ArrayList<>();
+        private final List<Integer> revenueLines = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private ImportRun(String userId) {
+            this.userId = userId;
+        }
+
+        void accept(ParsedRow row) {
+            if (!row.isValid()) {
+                fail(row.line(), row.error());
+                return;
+            }
+            if (MonthlyRollup.EXPENSE.equals(row.kind())) {
+                Expense expense = new Expense();
+                expense.setUserId(userId);
+                expense.setAmountMinor(row.amount());
+                expense.setCategory(row.category());
+                expense.setDescription(row.description());
+                expense.setDate(row.date());
+                if (isValid(row.line(), expense)) {
+                    expenses.add(expense);
+                    expenseLines.add(row.line());
+                }
+            } else {
+                Revenue revenue = new Revenue();
+                revenue.setUserId(userId);
+                revenue.setAmountMinor(row.amount());
+                revenue.setSource(row.source());
+                revenue.setDate(row.date());
+                if (isValid(row.line(), revenue)) {
+                    revenues.add(revenue);
+                    revenueLines.add(row.line());
+                }
+            }
+            if (expenses.size() + revenues.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            List<Expense> insertedExpenses = insertBatch(expenses, expenseLines, Expense.class);
+            reportUpdateService.transactionsAdded(userId, MonthlyRollup.EXPENSE, insertedExpenses.stream()
+                .map(expense -> new TransactionEntry(expense.getCategory(), expense.getDate(), expense.getAmountMinor()))
+                .toList());
+
+            List<Revenue> insertedRevenues = insertBatch(revenues, revenueLines, Revenue.class);
+            reportUpdateService.transactionsAdded(userId, MonthlyRollup.REVENUE, insertedRevenues.stream()
+                .map(revenue -> new TransactionEntry(revenue.getSource(), revenue.getDate(), revenue.getAmountMinor()))
+                .toList());
+        }
+
+        // Unordered insertMany; returns the documents that were actually written
+        private <T> List<T> insertBatch(List<T> batch, List<Integer> lines, Class<T> type) {
+            if (batch.isEmpty()) {
+                return List.of();
+            }
+            List<T> inserted = new ArrayList<>(batch);
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(batch).execute();
+            } catch (BulkOperationException e) {
+                Set<Integer> failedIndexes = new HashSet<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    fail(lines.get(error.getIndex()), "Database write failed: " + error.getMessage());
+                }
+                inserted = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (!failedIndexes.contains(i)) {
+                        inserted.add(batch.get(i));
+                    }
+                }
+            }
+            imported += inserted.size();
+            batch.clear();
+            lines.clear();
+            return inserted;
+        }
+
+        private boolean isValid(int line, Object transaction) {
+            Set<ConstraintViolation<Object>> violations = validator.validate(transaction);
+            if (violations.isEmpty()) {
+                return true;
+            }
+            fail(line, violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+            return false;
+        }
+
+        private void fail(int line, String message) {
+            failed++;
+            // Keep the report bounded however broken the file is
+            if (errors.size() < maxReportedErrors) {
+                errors.add(Map.of("line", line, "message", message));
+            }
+        }
+    }
+}
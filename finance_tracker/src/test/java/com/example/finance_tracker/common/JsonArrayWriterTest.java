@@ -0,0 +1,46 @@
+package com.example.finance_tracker.common;
+
+import com.example.finance_tracker.expense.model.Expense;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonArrayWriterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    // The streamed list must be what the MVC converter writes with app.lists.streaming-enabled=false
+    @Test
+    void streamedOutputMatchesBufferedSerialization() {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Expense expense = new Expense();
+            expense.setId("id-" + i);
+            expense.setUserId("alice");
+            expense.setAmountMinor(1_000 + i * 105);
+            expense.setCategory(i % 2 == 0 ? "Food" : "Rent \"flat\"");
+            expense.setDescription("Entry " + i + " – ünïcode");
+            expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            expenses.add(expense);
+        }
+
+        assertThat(stream(expenses, 3)).isEqualTo(jsonMapper.writeValueAsBytes(expenses));
+    }
+
+    @Test
+    void emptyListIsAnEmptyArray() {
+        assertThat(stream(List.of(), 3)).isEqualTo(jsonMapper.writeValueAsBytes(List.of()));
+    }
+
+    private byte[] stream(List<?> rows, int batchSize) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonArrayWriter(null, jsonMapper, batchSize).write(rows.iterator(), out);
+        return out.toByteArray();
+    }
+}
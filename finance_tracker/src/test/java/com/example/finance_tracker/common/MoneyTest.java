@@ -0,0 +1,57 @@
+package com.example.finance_tracker.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void parsesDecimalsIntoMinorUnitsRoundingHalfUp() {
+        assertThat(Money.parse("0.1")).isEqualTo(10);
+        assertThat(Money.parse("12.344")).isEqualTo(1234);
+        assertThat(Money.parse("12.345")).isEqualTo(1235);
+        assertThat(Money.parse("-12.345")).isEqualTo(-1235);
+    }
+
+    @Test
+    void rejectsUnparseableAndOverflowingAmounts() {
+        assertThatThrownBy(() -> Money.parse("abc")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("1e30")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void convertsDoublesThroughTheirShortestDecimal() {
+        assertThat(Money.toMinor(0.1 + 0.2)).isEqualTo(30);
+        assertThat(Money.toMinor(19.99)).isEqualTo(1999);
+
+        long sum = 0;
+        for (int i = 0; i < 10; i++) {
+            sum += Money.toMinor(0.1);
+        }
+        assertThat(sum).isEqualTo(100);
+        assertThat(Money.toMajor(sum)).isEqualTo(1.0);
+    }
+
+    @Test
+    void formatsMinorUnitsAsMajor() {
+        assertThat(Money.toMajor(1999)).isEqualTo(19.99);
+        assertThat(Money.toMajor(-5)).isEqualTo(-0.05);
+    }
+
+    @Test
+    void writesLargeAndFractionalAmountsAsExactPlainDecimals() {
+        assertThat(Money.toDecimal(1_000_000_000).toPlainString()).isEqualTo("10000000.00");
+        assertThat(Money.toDecimal(30).toPlainString()).isEqualTo("0.30");
+        assertThat(Money.toDecimal(-5).toPlainString()).isEqualTo("-0.05");
+    }
+
+    @Test
+    void growthIsRelativeToThePreviousMagnitude() {
+        assertThat(Money.growth(150, 100)).isEqualTo(50.0);
+        assertThat(Money.growth(50, -100)).isEqualTo(150.0);
+        assertThat(Money.growth(5, 0)).isEqualTo(100.0);
+        assertThat(Money.growth(0, 0)).isEqualTo(0.0);
+    }
+}
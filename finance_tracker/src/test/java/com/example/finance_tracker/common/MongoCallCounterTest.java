@@ -0,0 +1,46 @@
+package com.example.finance_tracker.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoCallCounterTest {
+
+    @AfterEach
+    void tearDown() {
+        MongoCallCounter.stop();
+        MDC.clear();
+    }
+
+    @Test
+    void countsCommandsRunByAPropagatedTaskOnAnotherThread() {
+        AtomicInteger calls = MongoCallCounter.start();
+        MDC.put("requestId", "r-1");
+        MongoCallCounter.increment();
+        AtomicReference<String> requestId = new AtomicReference<>();
+
+        Runnable task = MongoCallCounter.propagate(() -> {
+            MongoCallCounter.increment();
+            MongoCallCounter.increment();
+            requestId.set(MDC.get("requestId"));
+        });
+        MongoCallCounter.stop();
+        CompletableFuture.runAsync(task).join();
+
+        assertThat(calls).hasValue(3);
+        assertThat(requestId).hasValue("r-1");
+    }
+
+    @Test
+    void leavesTasksOutsideARequestUnwrapped() {
+        Runnable task = () -> {};
+
+        assertThat(MongoCallCounter.propagate(task)).isSameAs(task);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.finance_tracker.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    // 5 per hour: one token every 12 minutes
+    private static final RateLimit FIVE_PER_HOUR = new RateLimit(5, Duration.ofHours(1));
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final LocalRateLimiter limiter = new LocalRateLimiter(1000, Duration.ofHours(1), clock::get);
+
+    @Test
+    void allowsAFullBurstThenReportsTimeToNextToken() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isZero();
+        }
+        assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isEqualTo(Duration.ofMinutes(12));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        drain("k");
+
+        advance(Duration.ofMinutes(6));
+        assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isEqualTo(Duration.ofMinutes(6));
+
+        advance(Duration.ofMinutes(6));
+        assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isZero();
+        assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isEqualTo(Duration.ofMinutes(12));
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityButNotBeyond() {
+        drain("k");
+        advance(Duration.ofHours(3));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isZero();
+        }
+        assertThat(limiter.tryAcquire("k", FIVE_PER_HOUR)).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        drain("login:ip:10.0.0.1");
+
+        assertThat(limiter.tryAcquire("login:ip:10.0.0.2", FIVE_PER_HOUR)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverGetMoreThanCapacity() throws Exception {
+        RateLimit limit = new RateLimit(50, Duration.ofHours(1));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<Integer> caller = () -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("shared", limit).isZero()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                };
+                results.add(executor.submit(caller));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get();
+            }
+            assertThat(allowed).isEqualTo(50);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void drain(String key) {
+        while (limiter.tryAcquire(key, FIVE_PER_HOUR).isZero()) {
+            // Take every token
+        }
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
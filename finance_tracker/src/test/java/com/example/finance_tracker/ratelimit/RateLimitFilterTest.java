@@ -0,0 +1,89 @@
+package com.example.finance_tracker.ratelimit;
+
+import com.example.finance_tracker.auth.jwt.JwtUtils;
+import com.example.finance_tracker.ratelimit.RateLimitRule.Key;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final String LOGIN = "/api/auth/login";
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+        Map.of(LOGIN, List.of(
+            new RateLimitRule("login", Key.IP, new RateLimit(20, Duration.ofMinutes(1))),
+            new RateLimitRule("login", Key.USERNAME, new RateLimit(5, Duration.ofMinutes(1))))),
+        new LocalRateLimiter(1000, Duration.ofMinutes(1)),
+        new JwtUtils(Base64.getEncoder().encodeToString(new byte[32]), 60_000, 100),
+        new ObjectMapper(),
+        new SimpleMeterRegistry());
+
+    @Test
+    void limitsOneClientOnOneUsername() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(login("10.0.0.1", "alice").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = login("10.0.0.1", "alice");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("12");
+    }
+
+    @Test
+    void anotherClientCannotLockTheUserOut() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            login("10.0.0.66", "alice");
+        }
+
+        assertThat(login("10.0.0.1", "alice").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void refusesOversizedBodies() throws Exception {
+        MockHttpServletRequest request = request("10.0.0.1", "{\"username\":\"" + "a".repeat(5000) + "\"}");
+
+        assertThat(run(request).getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    void passesTheBodyOnToTheController() throws Exception {
+        MockHttpServletRequest request = request("10.0.0.1", "{\"username\":\"alice\"}");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        byte[] replayed = chain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(replayed, StandardCharsets.UTF_8)).isEqualTo("{\"username\":\"alice\"}");
+    }
+
+    private MockHttpServletResponse login(String ip, String username) throws Exception {
+        return run(request(ip, "{\"username\":\"" + username + "\",\"password\":\"x\"}"));
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String ip, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN);
+        request.setServletPath(LOGIN);
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
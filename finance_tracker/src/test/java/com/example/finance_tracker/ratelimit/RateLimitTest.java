@@ -0,0 +1,31 @@
+package com.example.finance_tracker.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitTest {
+
+    @Test
+    void parsesCapacityAndPeriod() {
+        assertThat(RateLimit.parse("5/1m")).isEqualTo(new RateLimit(5, Duration.ofMinutes(1)));
+        assertThat(RateLimit.parse(" 20 / 10s ")).isEqualTo(new RateLimit(20, Duration.ofSeconds(10)));
+        assertThat(RateLimit.parse("3/1h").interval()).isEqualTo(Duration.ofMinutes(20));
+    }
+
+    @Test
+    void offOrBlankDisablesTheLimit() {
+        assertThat(RateLimit.parse("off")).isNull();
+        assertThat(RateLimit.parse("")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedLimits() {
+        assertThatThrownBy(() -> RateLimit.parse("5 per minute")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("0/1m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("5/0s")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
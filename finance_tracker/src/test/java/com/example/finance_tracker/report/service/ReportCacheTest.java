@@ -0,0 +1,53 @@
+package com.example.finance_tracker.report.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportCacheTest {
+
+    private final DataVersionService dataVersionService = mock(DataVersionService.class);
+    private final ReportCache cache = new ReportCache(dataVersionService, 100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesCachedReportWhileVersionIsUnchanged() {
+        when(dataVersionService.getVersion("u1")).thenReturn(3L);
+
+        assertThat(cache.get("u1", "summary", this::load)).isEqualTo(1);
+        assertThat(cache.get("u1", "summary", this::load)).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void dropsEntryBuiltAtOlderVersionWithoutLocalInvalidation() {
+        when(dataVersionService.getVersion("u1")).thenReturn(3L);
+        cache.get("u1", "summary", this::load);
+
+        // Another node handled the write: only the shared version moved
+        when(dataVersionService.getVersion("u1")).thenReturn(4L);
+
+        assertThat(cache.get("u1", "summary", this::load)).isEqualTo(2);
+        assertThat(cache.get("u1", "summary", this::load)).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheWhenLocalVersionIsBehindEntry() {
+        when(dataVersionService.getVersion("u1")).thenReturn(4L);
+        cache.get("u1", "summary", this::load);
+
+        when(dataVersionService.getVersion("u1")).thenReturn(3L);
+
+        assertThat(cache.get("u1", "summary", this::load)).isEqualTo(2);
+        assertThat(cache.get("u1", "summary", this::load)).isEqualTo(3);
+    }
+
+    private Integer load() {
+        return loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.finance_tracker.report.service;
+
+import com.example.finance_tracker.report.model.MonthlyRollup;
+import com.example.finance_tracker.report.model.TrendGranularity;
+import com.example.finance_tracker.report.repository.ReportAggregationRepository.TrendBucket;
+import com.example.finance_tracker.report.service.ReportService.TrendWindow;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrendWindowTest {
+
+    @Test
+    void widensRangeToWholeBucketsWithOneLeadingBucket() {
+        TrendWindow window = TrendWindow.of(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 10), TrendGranularity.MONTH);
+
+        assertThat(window.previousBucket()).isEqualTo(LocalDate.of(2023, 12, 1));
+        assertThat(window.firstBucket()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(window.lastBucket()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(window.rangeEnd()).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(window.size()).isEqualTo(4);
+    }
+
+    @Test
+    void defaultsToSixBucketsEndingAtEnd() {
+        TrendWindow window = TrendWindow.of(null, LocalDate.of(2024, 6, 20), TrendGranularity.MONTH);
+
+        assertThat(window.firstBucket()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(window.lastBucket()).isEqualTo(LocalDate.of(2024, 6, 1));
+        assertThat(ReportService.trendOf(window, List.of())).hasSize(6);
+    }
+
+    @Test
+    void alignsWeeksToMondayAndQuartersToTheirFirstMonth() {
+        TrendWindow weeks = TrendWindow.of(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 10), TrendGranularity.WEEK);
+        assertThat(weeks.previousBucket()).isEqualTo(LocalDate.of(2023, 12, 25));
+        assertThat(weeks.lastBucket()).isEqualTo(LocalDate.of(2024, 1, 8));
+
+        TrendWindow quarters = TrendWindow.of(LocalDate.of(2024, 5, 20), LocalDate.of(2024, 8, 1), TrendGranularity.QUARTER);
+        assertThat(quarters.previousBucket()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(quarters.firstBucket()).isEqualTo(LocalDate.of(2024, 4, 1));
+        assertThat(quarters.lastBucket()).isEqualTo(LocalDate.of(2024, 7, 1));
+    }
+
+    @Test
+    void rejectsReversedAndOversizedRanges() {
+        assertThatThrownBy(() -> TrendWindow.of(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), TrendGranularity.MONTH))
+            .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> TrendWindow.of(LocalDate.of(2015, 1, 1), LocalDate.of(2024, 1, 1), TrendGranularity.DAY))
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void fillsEmptyBucketsWithZerosAndComputesGrowthAgainstTheLeadingBucket() {
+        TrendWindow window = TrendWindow.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), TrendGranularity.MONTH);
+        List<TrendBucket> buckets = List.of(
+            new TrendBucket(MonthlyRollup.REVENUE, LocalDate.of(2023, 12, 1), 10000),
+            new TrendBucket(MonthlyRollup.EXPENSE, LocalDate.of(2024, 1, 1), 5000),
+            new TrendBucket(MonthlyRollup.EXPENSE, LocalDate.of(2024, 1, 1), 2500),
+            new TrendBucket(MonthlyRollup.REVENUE, LocalDate.of(2024, 2, 1), 30000),
+            // Outside the window, ignored
+            new TrendBucket(MonthlyRollup.REVENUE, LocalDate.of(2023, 6, 1), 999));
+
+        List<Map<String, Object>> trend = ReportService.trendOf(window, buckets);
+
+        assertThat(trend).extracting(point -> point.get("period"))
+            .containsExactly("2024-01-01", "2024-02-01", "2024-03-01");
+        assertThat(trend).extracting(point -> point.get("income")).containsExactly(0.0, 300.0, 0.0);
+        assertThat(trend).extracting(point -> point.get("expense")).containsExactly(75.0, 0.0, 0.0);
+        assertThat(trend).extracting(point -> point.get("incomeGrowth")).containsExactly(-100.0, 100.0, -100.0);
+        assertThat(trend).extracting(point -> point.get("expenseGrowth")).containsExactly(100.0, -100.0, 0.0);
+    }
+}
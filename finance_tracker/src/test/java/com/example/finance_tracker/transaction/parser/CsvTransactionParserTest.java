@@ -0,0 +1,115 @@
+package com.example.finance_tracker.transaction.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTransactionParserTest {
+
+    @Test
+    void readsExportLayoutWithKindColumn() throws IOException {
+        List<ParsedRow> rows = parse("""
+            kind,id,date,amount,category,source,description
+            expense,1,2024-01-05,12.50,Food,,Lunch
+            revenue,2,2024-01-06,1000,,Salary,
+            """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).isEqualTo(new ParsedRow(2, "expense", LocalDate.of(2024, 1, 5), 1250, "Food", null, "Lunch", null));
+        assertThat(rows.get(1)).isEqualTo(new ParsedRow(3, "revenue", LocalDate.of(2024, 1, 6), 100000, null, "Salary", null, null));
+    }
+
+    @Test
+    void signedAmountDecidesKindWithoutKindColumn() throws IOException {
+        List<ParsedRow> rows = parse("""
+            Date,Amount,Payee
+            2024-02-01,-45.10,Grocer
+            02/03/2024,200.00,Employer
+            """);
+
+        assertThat(rows.get(0).kind()).isEqualTo("expense");
+        assertThat(rows.get(0).amount()).isEqualTo(4510);
+        assertThat(rows.get(0).category()).isEqualTo(ParserSupport.DEFAULT_CATEGORY);
+        assertThat(rows.get(0).description()).isEqualTo("Grocer");
+        assertThat(rows.get(1).kind()).isEqualTo("revenue");
+        assertThat(rows.get(1).date()).isEqualTo(LocalDate.of(2024, 2, 3));
+        assertThat(rows.get(1).amount()).isEqualTo(20000);
+        assertThat(rows.get(1).source()).isEqualTo("Employer");
+    }
+
+    @Test
+    void stripsByteOrderMarkFromHeader() throws IOException {
+        List<ParsedRow> rows = parse("\uFEFFdate,amount\n2024-01-01,-1\n");
+
+        assertThat(rows).singleElement().satisfies(row -> assertThat(row.isValid()).isTrue());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        List<ParsedRow> rows = parse("""
+            kind,date,amount,category,description
+            expense,2024-03-01,10,Home,"Rent, ""flat"" 3"
+            """);
+
+        assertThat(rows.get(0).description()).isEqualTo("Rent, \"flat\" 3");
+        assertThat(CsvTransactionParser.splitLine("a,\"\",\"b,c\",")).containsExactly("a", "", "b,c", "");
+    }
+
+    @Test
+    void shortRowsFailInsteadOfThrowing() throws IOException {
+        List<ParsedRow> rows = parse("""
+            date,amount,category
+            2024-01-01
+            ,5
+            2024-01-02,7,Food
+            """);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).error()).isEqualTo("Missing 'amount'.");
+        assertThat(rows.get(1).error()).isEqualTo("Missing 'date'.");
+        assertThat(rows.get(2).isValid()).isTrue();
+    }
+
+    @Test
+    void reportsBadValuesPerRow() throws IOException {
+        List<ParsedRow> rows = parse("""
+            kind,date,amount
+            expense,31/31/2024,1
+            expense,2024-01-01,abc
+            transfer,2024-01-01,1
+            """);
+
+        assertThat(rows).extracting(ParsedRow::line).containsExactly(2, 3, 4);
+        assertThat(rows).noneMatch(ParsedRow::isValid);
+        assertThat(rows.get(2).error()).contains("Unknown kind 'transfer'");
+    }
+
+    @Test
+    void skipsBlankLinesButKeepsLineNumbers() throws IOException {
+        List<ParsedRow> rows = parse("date,amount\n\n2024-01-01,1\n");
+
+        assertThat(rows).singleElement().extracting(ParsedRow::line).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() throws IOException {
+        List<ParsedRow> rows = parse("when,how much\n2024-01-01,1\n");
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.line()).isEqualTo(1);
+            assertThat(row.isValid()).isFalse();
+        });
+    }
+
+    private static List<ParsedRow> parse(String csv) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        new CsvTransactionParser().parse(new StringReader(csv), rows::add);
+        return rows;
+    }
+}
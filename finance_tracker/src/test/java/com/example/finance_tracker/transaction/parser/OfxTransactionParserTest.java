@@ -0,0 +1,64 @@
+package com.example.finance_tracker.transaction.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfxTransactionParserTest {
+
+    @Test
+    void readsSgmlTransactionsWithUnclosedTags() throws IOException {
+        List<ParsedRow> rows = parse("""
+            OFXHEADER:100
+            <OFX><BANKTRANLIST>
+            <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240115120000[-5:EST]<TRNAMT>-20.00<NAME>Coffee<MEMO>Card
+            </STMTTRN>
+            <STMTTRN><DTPOSTED>20240116<TRNAMT>1500,50<NAME>Payroll
+            </STMTTRN>
+            </BANKTRANLIST></OFX>
+            """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).isEqualTo(new ParsedRow(1, "expense", LocalDate.of(2024, 1, 15), 2000,
+            ParserSupport.DEFAULT_CATEGORY, null, "Coffee", null));
+        assertThat(rows.get(1)).isEqualTo(new ParsedRow(2, "revenue", LocalDate.of(2024, 1, 16), 150050,
+            null, "Payroll", null, null));
+    }
+
+    @Test
+    void readsXmlTransactions() throws IOException {
+        List<ParsedRow> rows = parse("""
+            <OFX>
+              <STMTTRN>
+                <DTPOSTED>20240201</DTPOSTED>
+                <TRNAMT>-5.5</TRNAMT>
+                <MEMO>Bus</MEMO>
+              </STMTTRN>
+            </OFX>
+            """);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.amount()).isEqualTo(550);
+            assertThat(row.description()).isEqualTo("Bus");
+        });
+    }
+
+    @Test
+    void transactionWithoutDateFails() throws IOException {
+        List<ParsedRow> rows = parse("<STMTTRN><TRNAMT>1</STMTTRN><STMTTRN><DTPOSTED>2024<TRNAMT>1</STMTTRN>");
+
+        assertThat(rows).hasSize(2).noneMatch(ParsedRow::isValid);
+    }
+
+    private static List<ParsedRow> parse(String ofx) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        new OfxTransactionParser().parse(new StringReader(ofx), rows::add);
+        return rows;
+    }
+}
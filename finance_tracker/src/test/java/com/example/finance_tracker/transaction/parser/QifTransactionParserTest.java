@@ -0,0 +1,50 @@
+package com.example.finance_tracker.transaction.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QifTransactionParserTest {
+
+    @Test
+    void readsSignedRecordsAndTwoDigitYears() throws IOException {
+        List<ParsedRow> rows = parse("""
+            !Type:Bank
+            D1/31'24
+            T-12.34
+            PGrocer
+            LFood
+            ^
+            D02/01/2024
+            T1,000.00
+            PEmployer
+            ^
+            """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).isEqualTo(new ParsedRow(2, "expense", LocalDate.of(2024, 1, 31), 1234, "Food", null, "Grocer", null));
+        assertThat(rows.get(1).kind()).isEqualTo("revenue");
+        assertThat(rows.get(1).amount()).isEqualTo(100000);
+        assertThat(rows.get(1).source()).isEqualTo("Employer");
+        assertThat(rows.get(1).line()).isEqualTo(7);
+    }
+
+    @Test
+    void recordWithoutDateFails() throws IOException {
+        List<ParsedRow> rows = parse("T5\n^\nD\nT1\n^\n");
+
+        assertThat(rows).hasSize(2).noneMatch(ParsedRow::isValid);
+    }
+
+    private static List<ParsedRow> parse(String qif) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        new QifTransactionParser().parse(new StringReader(qif), rows::add);
+        return rows;
+    }
+}
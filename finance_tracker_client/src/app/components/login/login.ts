@@ -16,6 +16,8 @@ export class LoginComponent implements OnInit {
   username = ''; 
   password = ''; 
   twoFactorCode = '';
+  challengeToken = '';  // Issued by the first login step
+  oauthLogin = false;
   loginStep: 'credentials' | 'setup' | 'verify' = 'credentials';
   setupData: any = null;
   qrCodeUrl = '';
@@ -57,6 +59,9 @@ export class LoginComponent implements OnInit {
         if (response.token) {
            this.router.navigate(['/dashboard']); 
         } else if (response.setup2fa) {
+           this.challengeToken = response.challengeToken!;
+           this.oauthLogin = false;
+           this.password = ''; // No longer needed once the challenge is issued
            this.loginStep = 'setup';
            this.setupData = response;
            this.qrCodeUrl = `https://api.qrserver.com/v1/create-qr-code/?size=200x200&data=${encodeURIComponent(response.qrUrl!)}`;
@@ -65,6 +70,9 @@ export class LoginComponent implements OnInit {
            this.emailOtpMessage = '';
            this.twoFactorCode = '';
         } else if (response.requires2fa) {
+           this.challengeToken = response.challengeToken!;
+           this.oauthLogin = false;
+           this.password = ''; // No longer needed once the challenge is issued
            this.loginStep = 'verify';
            this.useEmailOtp = false;
            this.emailOtpSent = false;
@@ -147,9 +155,9 @@ export class LoginComponent implements OnInit {
       this.errorMessage = null;
       
       // Pass useEmailOtp flag - defaults to false for existing flow
-      const verify$ = this.password ? 
-        this.authService.verify2fa(this.username, this.twoFactorCode, this.password, this.useEmailOtp) :
-        this.authService.verify2faOAuth(this.username, this.twoFactorCode, this.useEmailOtp);
+      const verify$ = this.oauthLogin ?
+        this.authService.verify2faOAuth(this.challengeToken, this.twoFactorCode, this.useEmailOtp) :
+        this.authService.verify2fa(this.challengeToken, this.twoFactorCode, this.useEmailOtp);
 
       verify$.subscribe({
           next: (response) => {
@@ -160,7 +168,11 @@ export class LoginComponent implements OnInit {
           },
           error: (error) => {
               this.loading = false;
-              if (error.status === 401 || error.status === 400) {
+              if (error.status === 401) {
+                  // Challenge expired, used up or already used: start over
+                  this.loginStep = 'credentials';
+                  this.errorMessage = error.error?.message || 'Your sign-in has expired. Please sign in again.';
+              } else if (error.status === 400) {
                   this.errorMessage = error.error?.message || 'Invalid code. Please try again.';
               } else if (error.status === 0) {
                   this.errorMessage = 'Unable to connect to server. Please check your internet connection.';
@@ -181,6 +193,8 @@ export class LoginComponent implements OnInit {
         } else if (response.setup2fa) {
            this.username = response.username!; // Store username for step 2
            this.password = ''; // Clear password for oauth flow
+           this.challengeToken = response.challengeToken!;
+           this.oauthLogin = true;
            this.loginStep = 'setup';
            this.setupData = response;
            this.qrCodeUrl = `https://api.qrserver.com/v1/create-qr-code/?size=200x200&data=${encodeURIComponent(response.qrUrl!)}`;
@@ -191,6 +205,8 @@ export class LoginComponent implements OnInit {
         } else if (response.requires2fa) {
            this.username = response.username!; // Store username for step 3
            this.password = ''; // Clear password for oauth flow
+           this.challengeToken = response.challengeToken!;
+           this.oauthLogin = true;
            this.loginStep = 'verify';
            this.useEmailOtp = false;
            this.emailOtpSent = false;
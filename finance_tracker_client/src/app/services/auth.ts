@@ -12,6 +12,7 @@ interface AuthResponse {
   secret?: string;
   qrUrl?: string;
   username?: string;
+  challengeToken?: string;
 }
 
 @Injectable({
@@ -38,8 +39,9 @@ export class AuthService {
     return this.http.post<{ message: string }>(`${this.apiUrl}/auth/send-2fa-email-otp`, { username });
   }
 
-  public verify2fa(username: string, code: string, password: string, useEmailOtp: boolean = false): Observable<AuthResponse> {
-    return this.http.post<AuthResponse>(`${this.apiUrl}/auth/verify-2fa`, { username, code, password, useEmailOtp })
+  // challengeToken comes from the login response and replaces resending the password
+  public verify2fa(challengeToken: string, code: string, useEmailOtp: boolean = false): Observable<AuthResponse> {
+    return this.http.post<AuthResponse>(`${this.apiUrl}/auth/verify-2fa`, { challengeToken, code, useEmailOtp })
       .pipe(
         tap(response => {
           if (response.token) {
@@ -49,8 +51,8 @@ export class AuthService {
       );
   }
 
-  public verify2faOAuth(username: string, code: string, useEmailOtp: boolean = false): Observable<AuthResponse> {
-    return this.http.post<AuthResponse>(`${this.apiUrl}/auth/verify-2fa-oauth`, { username, code, useEmailOtp })
+  public verify2faOAuth(challengeToken: string, code: string, useEmailOtp: boolean = false): Observable<AuthResponse> {
+    return this.http.post<AuthResponse>(`${this.apiUrl}/auth/verify-2fa-oauth`, { challengeToken, code, useEmailOtp })
       .pipe(
         tap(response => {
           if (response.token) {